@@ -0,0 +1,229 @@
+import java.util.Arrays;
+
+/**
+ * My implementation of an LZ4-style block compressor.
+ *
+ * A compressed block is a sequence of LZ4 block format sequences. Each one
+ * is a token, whose high nibble is the number of literals and low nibble
+ * the match length minus MIN_MATCH, then the extra length bytes of the
+ * literals, the literals, the little-endian 2-byte offset of the match and
+ * the extra length bytes of the match. A nibble of 15 is followed by bytes
+ * that are added to it until one is less than 255. The last sequence only
+ * has literals.
+ *
+ * Matches are found with a single hash table of recent positions, with no
+ * chains, so compression is fast and decompression is a plain copy loop.
+ *
+ * @author AKSHAT KARWA
+ */
+public class BlockCompressor {
+
+    /**
+     * The shortest match that is encoded.
+     */
+    public static final int MIN_MATCH = 4;
+
+    /**
+     * The largest distance back a match can start at.
+     */
+    public static final int MAX_OFFSET = 0xFFFF;
+
+    private static final int HASH_LOG = 14;
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+
+    private final int[] hashTable;
+
+    /**
+     * Constructs a new BlockCompressor. A compressor can be reused for any
+     * number of blocks, but not by several threads at once.
+     */
+    public BlockCompressor() {
+        this.hashTable = new int[1 << HASH_LOG];
+    }
+
+    /**
+     * Returns the largest number of bytes a block of length bytes can take
+     * once compressed.
+     *
+     * @param length the number of bytes of the block
+     * @return the maximum compressed length
+     */
+    public static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compresses the first length bytes of src into dst.
+     *
+     * @param src    the bytes to compress
+     * @param length the number of bytes of src to compress
+     * @param dst    the array to write to, at least
+     *               maxCompressedLength(length) long
+     * @return the number of bytes written to dst
+     * @throws java.lang.IllegalArgumentException if an array is null, length
+     *                                            is out of bounds, or dst is
+     *                                            too short
+     */
+    public int compress(byte[] src, int length, byte[] dst) {
+        if (src == null || dst == null || length < 0 || length > src.length
+                || dst.length < maxCompressedLength(length)) {
+            throw new IllegalArgumentException("The arrays are null or too short!!");
+        }
+        Arrays.fill(this.hashTable, 0);
+        int anchor = 0;
+        int op = 0;
+        int ip = 0;
+        int matchLimit = length - LAST_LITERALS;
+        int lastMatchStart = length - MF_LIMIT;
+        while (ip < lastMatchStart) {
+            int sequence = readInt(src, ip);
+            int h = (sequence * 0x9E3779B1) >>> (32 - HASH_LOG);
+            int ref = this.hashTable[h] - 1;
+            this.hashTable[h] = ip + 1;
+            if (ref < 0 || ip - ref > MAX_OFFSET || readInt(src, ref) != sequence) {
+                ip++;
+                continue;
+            }
+            int matchLength = MIN_MATCH;
+            while (ip + matchLength < matchLimit && src[ref + matchLength] == src[ip + matchLength]) {
+                matchLength++;
+            }
+            op = writeLiterals(src, anchor, ip - anchor, matchLength - MIN_MATCH, dst, op);
+            dst[op++] = (byte) (ip - ref);
+            dst[op++] = (byte) ((ip - ref) >>> 8);
+            op = writeLength(matchLength - MIN_MATCH, dst, op);
+            ip += matchLength;
+            anchor = ip;
+        }
+        return writeLiterals(src, anchor, length - anchor, 0, dst, op);
+    }
+
+    /**
+     * Private Helper Method that writes the token, the extra literal length
+     * bytes and the literals of a sequence.
+     *
+     * @param src           is the array holding the literals
+     * @param start         is the index of the first literal
+     * @param literals      is the number of literals
+     * @param matchNibble   is the match length minus MIN_MATCH, or 0 for the
+     *                      last sequence
+     * @param dst           is the array to write to
+     * @param op            is the index in dst to write at
+     * @return the index in dst after the literals
+     */
+    private static int writeLiterals(byte[] src, int start, int literals, int matchNibble,
+                                     byte[] dst, int op) {
+        dst[op++] = (byte) ((Math.min(literals, 15) << 4) | Math.min(matchNibble, 15));
+        op = writeLength(literals, dst, op);
+        System.arraycopy(src, start, dst, op, literals);
+        return op + literals;
+    }
+
+    /**
+     * Private Helper Method that writes the extra length bytes of a length
+     * whose nibble is 15.
+     *
+     * @param length is the length stored in the nibble and the extra bytes
+     * @param dst    is the array to write to
+     * @param op     is the index in dst to write at
+     * @return the index in dst after the extra bytes
+     */
+    private static int writeLength(int length, byte[] dst, int op) {
+        if (length < 15) {
+            return op;
+        }
+        int remaining = length - 15;
+        while (remaining >= 255) {
+            dst[op++] = (byte) 255;
+            remaining -= 255;
+        }
+        dst[op++] = (byte) remaining;
+        return op;
+    }
+
+    /**
+     * Decompresses the first srcLength bytes of src into dst, which must
+     * receive exactly length bytes.
+     *
+     * @param src       the compressed block
+     * @param srcLength the number of bytes of src to decompress
+     * @param dst       the array to write to
+     * @param length    the number of bytes the block decompresses to
+     * @throws java.lang.IllegalArgumentException if the block is malformed or
+     *                                            does not decompress to
+     *                                            exactly length bytes
+     */
+    public static void decompress(byte[] src, int srcLength, byte[] dst, int length) {
+        if (src == null || dst == null || srcLength < 0 || srcLength > src.length
+                || length < 0 || length > dst.length) {
+            throw new IllegalArgumentException("The arrays are null or too short!!");
+        }
+        int ip = 0;
+        int op = 0;
+        while (ip < srcLength) {
+            int token = src[ip++] & 0xFF;
+            int literals = token >>> 4;
+            if (literals == 15) {
+                int b;
+                do {
+                    checkBounds(ip < srcLength);
+                    b = src[ip++] & 0xFF;
+                    literals += b;
+                } while (b == 255);
+            }
+            checkBounds(literals <= srcLength - ip && literals <= length - op);
+            System.arraycopy(src, ip, dst, op, literals);
+            ip += literals;
+            op += literals;
+            if (ip == srcLength) {
+                break;
+            }
+            checkBounds(ip + 2 <= srcLength);
+            int offset = (src[ip] & 0xFF) | ((src[ip + 1] & 0xFF) << 8);
+            ip += 2;
+            checkBounds(offset > 0 && offset <= op);
+            int matchLength = token & 15;
+            if (matchLength == 15) {
+                int b;
+                do {
+                    checkBounds(ip < srcLength);
+                    b = src[ip++] & 0xFF;
+                    matchLength += b;
+                } while (b == 255);
+            }
+            matchLength += MIN_MATCH;
+            checkBounds(matchLength <= length - op);
+            for (int i = 0; i < matchLength; i++) {
+                dst[op] = dst[op - offset];
+                op++;
+            }
+        }
+        checkBounds(op == length);
+    }
+
+    /**
+     * Private Helper Method that rejects a malformed block.
+     *
+     * @param valid is whether or not the block is still well-formed
+     * @throws java.lang.IllegalArgumentException if valid is false
+     */
+    private static void checkBounds(boolean valid) {
+        if (!valid) {
+            throw new IllegalArgumentException("The compressed block is malformed!!");
+        }
+    }
+
+    /**
+     * Private Helper Method that reads 4 bytes of src as a little-endian
+     * int.
+     *
+     * @param src   is the array to read from
+     * @param index is the index of the first byte
+     * @return the int
+     */
+    private static int readInt(byte[] src, int index) {
+        return (src[index] & 0xFF) | ((src[index + 1] & 0xFF) << 8)
+                | ((src[index + 2] & 0xFF) << 16) | ((src[index + 3] & 0xFF) << 24);
+    }
+}
@@ -0,0 +1,181 @@
+import java.util.Arrays;
+
+/**
+ * My implementation of a blocked Bloom filter over spread hashcodes.
+ *
+ * The bits are split into blocks of BLOCK_BITS bits, which is one 64-byte
+ * cache line. Every hashcode selects one block and sets or tests all of its
+ * bits inside that block, so a query touches a single cache line. The false
+ * positive rate is slightly higher than that of a classic Bloom filter of
+ * the same size, in exchange for that locality.
+ *
+ * A Bloom filter never has false negatives, but it cannot forget a
+ * hashcode: entries removed from the structure it guards still answer
+ * true until the filter is cleared and refilled.
+ *
+ * @author AKSHAT KARWA
+ */
+public class BlockedBloomFilter {
+
+    /**
+     * The number of bits of a block.
+     */
+    public static final int BLOCK_BITS = 512;
+
+    /**
+     * The largest number of bits a hashcode sets in its block.
+     */
+    public static final int MAX_HASH_FUNCTIONS = 16;
+
+    private static final int WORDS_PER_BLOCK = BLOCK_BITS / Long.SIZE;
+    private static final int MAXIMUM_BLOCKS = 1 << 26;
+
+    private final long[] bits;
+    private final int blockMask;
+    private final int hashFunctions;
+    private final int expectedEntries;
+    private long additions;
+
+    /**
+     * Constructs a new BlockedBloomFilter sized so that holding
+     * expectedEntries hashcodes gives a false positive rate of about
+     * falsePositiveRate.
+     *
+     * @param expectedEntries   the number of hashcodes expected to be added
+     * @param falsePositiveRate the target false positive rate
+     * @throws java.lang.IllegalArgumentException if expectedEntries is
+     *                                            negative or
+     *                                            falsePositiveRate is not
+     *                                            strictly between 0 and 1
+     */
+    public BlockedBloomFilter(int expectedEntries, double falsePositiveRate) {
+        if (expectedEntries < 0) {
+            throw new IllegalArgumentException("The expected number of entries cannot be negative!!");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1!!");
+        }
+        double bitsPerEntry = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long blocks = (long) Math.ceil(Math.max(1, expectedEntries) * bitsPerEntry / BLOCK_BITS);
+        blocks = (blocks <= 1) ? 1 : Math.min(MAXIMUM_BLOCKS, Long.highestOneBit(blocks - 1) << 1);
+        this.bits = new long[(int) blocks * WORDS_PER_BLOCK];
+        this.blockMask = (int) blocks - 1;
+        this.hashFunctions = (int) Math.max(1, Math.min(MAX_HASH_FUNCTIONS,
+                Math.round(bitsPerEntry * Math.log(2))));
+        this.expectedEntries = expectedEntries;
+    }
+
+    /**
+     * Adds a hashcode to the filter.
+     *
+     * @param hash the spread hashcode to add
+     */
+    public void add(int hash) {
+        long h = mix(hash);
+        int base = ((int) (h >>> 32) & this.blockMask) * WORDS_PER_BLOCK;
+        int h1 = (int) h;
+        int h2 = (h1 >>> 16) | 1;
+        for (int i = 0; i < this.hashFunctions; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            this.bits[base + (bit >>> 6)] |= 1L << bit;
+        }
+        this.additions++;
+    }
+
+    /**
+     * Returns whether or not the hashcode might have been added to the
+     * filter.
+     *
+     * @param hash the spread hashcode to test
+     * @return false if the hashcode was definitely never added, true if it
+     * might have been
+     */
+    public boolean mightContain(int hash) {
+        long h = mix(hash);
+        int base = ((int) (h >>> 32) & this.blockMask) * WORDS_PER_BLOCK;
+        int h1 = (int) h;
+        int h2 = (h1 >>> 16) | 1;
+        for (int i = 0; i < this.hashFunctions; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            if ((this.bits[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Private Helper Method that mixes a hashcode into 64 bits with the
+     * murmur3 fmix64 finalizer, so the block and the bits inside it are
+     * picked from independent bits.
+     *
+     * @param hash is the spread hashcode
+     * @return the mixed hash
+     */
+    private static long mix(int hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Returns the estimated false positive rate of the filter, given the
+     * number of hashcodes added so far, including those of removed entries.
+     *
+     * @return the estimated false positive rate
+     */
+    public double expectedFalsePositiveRate() {
+        double m = (double) this.bits.length * Long.SIZE;
+        return Math.pow(1 - Math.exp(-this.hashFunctions * this.additions / m), this.hashFunctions);
+    }
+
+    /**
+     * Clears the filter, so that it can be refilled without allocating a
+     * new one. Keeps the size of the filter.
+     */
+    public void clear() {
+        Arrays.fill(this.bits, 0);
+        this.additions = 0;
+    }
+
+    /**
+     * Returns the number of hashcodes added since the filter was created or
+     * last cleared, counting a hashcode every time it is added.
+     *
+     * @return the number of additions
+     */
+    public long getAdditions() {
+        return additions;
+    }
+
+    /**
+     * Returns the number of hashcodes the filter was sized for.
+     *
+     * @return the expected number of entries
+     */
+    public int getExpectedEntries() {
+        return expectedEntries;
+    }
+
+    /**
+     * Returns the number of bits a hashcode sets in its block.
+     *
+     * @return the number of hash functions
+     */
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Returns the number of bits of the filter.
+     *
+     * @return the size of the filter in bits
+     */
+    public long bitSize() {
+        return (long) bits.length * Long.SIZE;
+    }
+}
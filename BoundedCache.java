@@ -0,0 +1,429 @@
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * My implementation of a bounded cache built on a LinearProbingHashMap and
+ * DoublyLinkedLists.
+ *
+ * The map goes from every key to the list node holding its entry, so an
+ * entry can be promoted or evicted in O(1) without searching the list. Every
+ * entry has a weight, 1 by default, and the total weight of the cache never
+ * exceeds the maximum weight after a put returns. Evicted entries are passed
+ * to the eviction listener.
+ *
+ * With the LRU policy, all entries are in one list ordered by recency, and
+ * the least recently used entry is evicted.
+ *
+ * With the W_TINY_LFU policy, new entries go into a small LRU window. Entries
+ * leaving the window become candidates for the main cache, which is split
+ * into a probation and a protected segment. A candidate is admitted only if
+ * a CountMinSketch estimates it was used more often than the entry probation
+ * would evict for it. An entry hit while in probation moves to protected, and
+ * entries overflowing protected go back to probation. This keeps frequently
+ * used entries in the cache through scans and bursts of one-off keys.
+ *
+ * @author AKSHAT KARWA
+ */
+public class BoundedCache<K, V> {
+
+    /**
+     * The eviction policy of a BoundedCache.
+     */
+    public enum Policy {
+        /**
+         * Evict the least recently used entry.
+         */
+        LRU,
+
+        /**
+         * Admit entries to the main cache based on their estimated frequency.
+         */
+        W_TINY_LFU
+    }
+
+    /**
+     * The fraction of the maximum weight given to the window with the
+     * W_TINY_LFU policy.
+     */
+    public static final double WINDOW_RATIO = 0.01;
+
+    /**
+     * The fraction of the main cache given to the protected segment with the
+     * W_TINY_LFU policy.
+     */
+    public static final double PROTECTED_RATIO = 0.8;
+
+    private final LinearProbingHashMap<K, DoublyLinkedListNode<BoundedCacheEntry<K, V>>> index;
+    private final DoublyLinkedList<BoundedCacheEntry<K, V>> window;
+    private final DoublyLinkedList<BoundedCacheEntry<K, V>> probation;
+    private final DoublyLinkedList<BoundedCacheEntry<K, V>> protectedSegment;
+    private final Policy policy;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final BiConsumer<? super K, ? super V> evictionListener;
+    private final CountMinSketch sketch;
+    private long totalWeight;
+    private long windowWeight;
+    private long protectedWeight;
+
+    /**
+     * Constructs a new BoundedCache where every entry weighs 1, so the
+     * maximum weight is the maximum number of entries, and evictions are not
+     * reported.
+     * We use constructor chaining.
+     *
+     * @param maximumWeight the maximum total weight of the entries
+     * @param policy        the eviction policy
+     */
+    public BoundedCache(long maximumWeight, Policy policy) {
+        this(maximumWeight, policy, (key, value) -> 1, (key, value) -> { });
+    }
+
+    /**
+     * Constructs a new BoundedCache.
+     *
+     * @param maximumWeight    the maximum total weight of the entries
+     * @param policy           the eviction policy
+     * @param weigher          the function computing the weight of an entry
+     * @param evictionListener the action performed on every evicted entry
+     * @throws java.lang.IllegalArgumentException if maximumWeight is not
+     *                                            positive or any other
+     *                                            argument is null
+     */
+    public BoundedCache(long maximumWeight, Policy policy,
+                        ToIntBiFunction<? super K, ? super V> weigher,
+                        BiConsumer<? super K, ? super V> evictionListener) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("The maximum weight must be positive!!");
+        }
+        if (policy == null || weigher == null || evictionListener == null) {
+            throw new IllegalArgumentException("The policy, weigher and listener cannot be null!!");
+        }
+        this.index = new LinearProbingHashMap<>();
+        this.window = new DoublyLinkedList<>();
+        this.probation = new DoublyLinkedList<>();
+        this.protectedSegment = new DoublyLinkedList<>();
+        this.policy = policy;
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = Math.max(1, (long) (WINDOW_RATIO * maximumWeight));
+        this.protectedMaximum = (long) (PROTECTED_RATIO * (maximumWeight - this.windowMaximum));
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+        this.sketch = (policy == Policy.W_TINY_LFU)
+                ? new CountMinSketch((int) Math.min(maximumWeight, 1 << 24)) : null;
+    }
+
+    /**
+     * Returns the value associated with the given key and records the hit,
+     * or returns null if the key is not in the cache.
+     *
+     * @param key the key to search for in the cache
+     * @return the value associated with the given key, or null
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key cannot be null!!");
+        }
+        if (this.sketch != null) {
+            this.sketch.increment(LinearProbingHashMap.spread(key.hashCode()));
+        }
+        DoublyLinkedListNode<BoundedCacheEntry<K, V>> node = this.index.getOrDefault(key, null);
+        if (node == null) {
+            return null;
+        }
+        onHit(node);
+        return node.getData().getValue();
+    }
+
+    /**
+     * Adds the given key-value pair to the cache, replacing the value of the
+     * key if it is already in the cache, and then evicts entries until the
+     * total weight is within the maximum weight.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the cache. If it was in
+     * the cache, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null, or
+     *                                            if the weight of the entry
+     *                                            is negative or more than
+     *                                            the maximum weight
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key or value is null!!"
+                    + " None of them can be null!!");
+        }
+        int weight = this.weigher.applyAsInt(key, value);
+        if (weight < 0 || weight > this.maximumWeight) {
+            throw new IllegalArgumentException("The weight of the entry must be between 0"
+                    + " and the maximum weight!!");
+        }
+        if (this.sketch != null) {
+            this.sketch.increment(LinearProbingHashMap.spread(key.hashCode()));
+        }
+        DoublyLinkedListNode<BoundedCacheEntry<K, V>> node = this.index.getOrDefault(key, null);
+        if (node != null) {
+            BoundedCacheEntry<K, V> entry = node.getData();
+            V old = entry.getValue();
+            addWeight(entry, weight - entry.getWeight());
+            entry.setWeight(weight);
+            entry.setValue(value);
+            onHit(node);
+            rebalanceProtected();
+            evict();
+            return old;
+        }
+        BoundedCacheEntry<K, V> entry = new BoundedCacheEntry<>(key, value, weight);
+        this.window.addToFront(entry);
+        this.index.put(key, this.window.getHead());
+        addWeight(entry, weight);
+        evict();
+        return null;
+    }
+
+    /**
+     * Removes the entry with the given key from the cache. The eviction
+     * listener is not called.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the
+     *                                            cache
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key cannot be null!!");
+        }
+        DoublyLinkedListNode<BoundedCacheEntry<K, V>> node = this.index.getOrDefault(key, null);
+        if (node == null) {
+            throw new NoSuchElementException("The key is not in the cache!!");
+        }
+        unlink(node);
+        return node.getData().getValue();
+    }
+
+    /**
+     * Returns whether or not the key is in the cache. This does not count as
+     * a hit.
+     *
+     * @param key the key to search for in the cache
+     * @return true if the key is in the cache, false otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null!!");
+        }
+        return this.index.containsKey(key);
+    }
+
+    /**
+     * Private Helper Method that promotes the entry of node after a hit.
+     *
+     * With LRU, and for entries of the window or protected segment, the node
+     * moves to the front of its list. An entry hit in probation moves to the
+     * front of protected, and the least recently used entries of protected
+     * go back to probation while protected is over its maximum weight.
+     *
+     * @param node is the node of the entry that was hit
+     */
+    private void onHit(DoublyLinkedListNode<BoundedCacheEntry<K, V>> node) {
+        BoundedCacheEntry<K, V> entry = node.getData();
+        if (entry.getSegment() != BoundedCacheEntry.PROBATION) {
+            listOf(entry.getSegment()).moveToFront(node);
+            return;
+        }
+        this.probation.removeNode(node);
+        entry.setSegment(BoundedCacheEntry.PROTECTED);
+        this.protectedSegment.addToFront(entry);
+        this.index.put(entry.getKey(), this.protectedSegment.getHead());
+        this.protectedWeight += entry.getWeight();
+        rebalanceProtected();
+    }
+
+    /**
+     * Private Helper Method that moves the least recently used entries of
+     * protected back to the front of probation while protected is over its
+     * maximum weight. This is needed after an entry joins protected, and
+     * after an entry of protected gets heavier.
+     */
+    private void rebalanceProtected() {
+        while (this.protectedWeight > this.protectedMaximum && this.protectedSegment.size() > 1) {
+            BoundedCacheEntry<K, V> demoted = this.protectedSegment.removeFromBack();
+            this.protectedWeight -= demoted.getWeight();
+            demoted.setSegment(BoundedCacheEntry.PROBATION);
+            this.probation.addToFront(demoted);
+            this.index.put(demoted.getKey(), this.probation.getHead());
+        }
+    }
+
+    /**
+     * Private Helper Method that evicts entries until the total weight is
+     * within the maximum weight.
+     *
+     * With W_TINY_LFU, entries overflowing the window first move to the
+     * front of probation as candidates. Then, as long as the cache is too
+     * heavy, the oldest remaining candidate is compared with the least
+     * recently used entry of probation, and whichever has the lower
+     * estimated frequency is evicted. Ties evict the candidate, which
+     * protects the main cache from one-off keys.
+     *
+     * The candidates are the nodes from the head of probation back to the
+     * oldest one, so we track that node rather than a count. The oldest
+     * candidate is also the victim once it reaches the tail. Whenever it is
+     * evicted, the candidate before it takes its place, and once none are
+     * left the least recently used entry of probation is simply evicted.
+     */
+    private void evict() {
+        if (this.policy == Policy.LRU) {
+            while (this.totalWeight > this.maximumWeight) {
+                evictNode(this.window.getTail());
+            }
+            return;
+        }
+        DoublyLinkedListNode<BoundedCacheEntry<K, V>> candidate = null;
+        while (this.windowWeight > this.windowMaximum) {
+            BoundedCacheEntry<K, V> entry = this.window.removeFromBack();
+            this.windowWeight -= entry.getWeight();
+            entry.setSegment(BoundedCacheEntry.PROBATION);
+            this.probation.addToFront(entry);
+            this.index.put(entry.getKey(), this.probation.getHead());
+            if (candidate == null) {
+                candidate = this.probation.getHead();
+            }
+        }
+        while (this.totalWeight > this.maximumWeight) {
+            if (this.probation.isEmpty()) {
+                evictNode(this.protectedSegment.isEmpty()
+                        ? this.window.getTail() : this.protectedSegment.getTail());
+                continue;
+            }
+            DoublyLinkedListNode<BoundedCacheEntry<K, V>> victim = this.probation.getTail();
+            if (candidate == null) {
+                evictNode(victim);
+                continue;
+            }
+            if (candidate == victim || frequencyOf(candidate) <= frequencyOf(victim)) {
+                DoublyLinkedListNode<BoundedCacheEntry<K, V>> next = candidate.getPrevious();
+                evictNode(candidate);
+                candidate = next;
+            } else {
+                evictNode(victim);
+            }
+        }
+    }
+
+    /**
+     * Private Helper Method that returns the estimated frequency of the key
+     * of node.
+     *
+     * @param node is the node of the entry
+     * @return the estimated frequency of its key
+     */
+    private int frequencyOf(DoublyLinkedListNode<BoundedCacheEntry<K, V>> node) {
+        return this.sketch.frequency(LinearProbingHashMap.spread(node.getData().getKey().hashCode()));
+    }
+
+    /**
+     * Private Helper Method that removes the entry of node from the cache
+     * and passes it to the eviction listener.
+     *
+     * @param node is the node of the entry to evict
+     */
+    private void evictNode(DoublyLinkedListNode<BoundedCacheEntry<K, V>> node) {
+        unlink(node);
+        BoundedCacheEntry<K, V> entry = node.getData();
+        this.evictionListener.accept(entry.getKey(), entry.getValue());
+    }
+
+    /**
+     * Private Helper Method that removes the entry of node from its list and
+     * from the map, and subtracts its weight.
+     *
+     * @param node is the node of the entry to remove
+     */
+    private void unlink(DoublyLinkedListNode<BoundedCacheEntry<K, V>> node) {
+        BoundedCacheEntry<K, V> entry = node.getData();
+        listOf(entry.getSegment()).removeNode(node);
+        this.index.remove(entry.getKey());
+        addWeight(entry, -entry.getWeight());
+    }
+
+    /**
+     * Private Helper Method that adds delta to the total weight and to the
+     * weight of the segment of entry.
+     *
+     * @param entry is the entry whose weight changes
+     * @param delta is the change in weight
+     */
+    private void addWeight(BoundedCacheEntry<K, V> entry, long delta) {
+        this.totalWeight += delta;
+        if (entry.getSegment() == BoundedCacheEntry.WINDOW) {
+            this.windowWeight += delta;
+        } else if (entry.getSegment() == BoundedCacheEntry.PROTECTED) {
+            this.protectedWeight += delta;
+        }
+    }
+
+    /**
+     * Private Helper Method that returns the list of a segment. With LRU,
+     * every entry stays in the window list.
+     *
+     * @param segment is the segment
+     * @return the list holding the entries of the segment
+     */
+    private DoublyLinkedList<BoundedCacheEntry<K, V>> listOf(int segment) {
+        if (segment == BoundedCacheEntry.PROBATION) {
+            return this.probation;
+        } else if (segment == BoundedCacheEntry.PROTECTED) {
+            return this.protectedSegment;
+        }
+        return this.window;
+    }
+
+    /**
+     * Clears the cache without calling the eviction listener.
+     */
+    public void clear() {
+        this.index.clear();
+        this.window.clear();
+        this.probation.clear();
+        this.protectedSegment.clear();
+        this.totalWeight = 0;
+        this.windowWeight = 0;
+        this.protectedWeight = 0;
+    }
+
+    /**
+     * Returns the total weight of the entries in the cache.
+     *
+     * @return the total weight of the entries
+     */
+    public long weightedSize() {
+        return totalWeight;
+    }
+
+    /**
+     * Returns the maximum total weight of the cache.
+     *
+     * @return the maximum weight
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Returns the size of the cache.
+     *
+     * @return the number of entries in the cache
+     */
+    public int size() {
+        return index.size();
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Entry class used for implementing the BoundedCache.
+ *
+ * @author AKSHAT KARWA
+ */
+public class BoundedCacheEntry<K, V> {
+
+    /**
+     * The segment of entries that were added recently.
+     */
+    public static final int WINDOW = 0;
+
+    /**
+     * The segment of entries admitted to the main cache but not hit since.
+     */
+    public static final int PROBATION = 1;
+
+    /**
+     * The segment of entries hit while in the main cache.
+     */
+    public static final int PROTECTED = 2;
+
+    private final K key;
+    private V value;
+    private int weight;
+    private int segment;
+
+    /**
+     * Constructs a new BoundedCacheEntry in the WINDOW segment.
+     *
+     * @param key    the key for this entry
+     * @param value  the value for this entry
+     * @param weight the weight of this entry
+     */
+    BoundedCacheEntry(K key, V value, int weight) {
+        this.key = key;
+        this.value = value;
+        this.weight = weight;
+        this.segment = WINDOW;
+    }
+
+    /**
+     * Gets the key.
+     *
+     * @return the key
+     */
+    public K getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the value.
+     *
+     * @return the value
+     */
+    public V getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the weight.
+     *
+     * @return the weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Gets the segment the entry is in.
+     *
+     * @return WINDOW, PROBATION or PROTECTED
+     */
+    public int getSegment() {
+        return segment;
+    }
+
+    /**
+     * Sets the value.
+     *
+     * @param value the new value
+     */
+    void setValue(V value) {
+        this.value = value;
+    }
+
+    /**
+     * Sets the weight.
+     *
+     * @param weight the new weight
+     */
+    void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Sets the segment the entry is in.
+     *
+     * @param segment the new segment
+     */
+    void setSegment(int segment) {
+        this.segment = segment;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%s, %s)", key.toString(), value.toString());
+    }
+}
@@ -0,0 +1,471 @@
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * My implementation of a LinearProbingHashMap whose table is split into
+ * fixed-size chunks, so it can have more than 2^31 slots.
+ *
+ * The table is a power of two number of slots, addressed with long indices.
+ * The high bits of an index select a chunk, and the low CHUNK_SHIFT bits
+ * select a slot in it. Every chunk holds at most CHUNK_SIZE references,
+ * which is small enough to never be a humongous allocation for the G1
+ * collector, so a huge table never needs one contiguous array. Chunks are
+ * only allocated once a slot in them is written.
+ *
+ * Collisions are resolved with Robin Hood linear probing, and removals use
+ * backward-shift deletion, like LinearProbingHashMap. Home indices come from
+ * the 32-bit spread hashcode of the key, mixed again by the murmur3 fmix64
+ * finalizer into 64 bits. The mixed hash is computed once per entry and
+ * cached in it, so probing only has to mask it. Since keys only have 32-bit
+ * hashcodes, tables beyond 2^32 slots spread the keys but cannot separate
+ * keys whose hashcodes are equal.
+ *
+ * @author AKSHAT KARWA
+ */
+public class ChunkedLinearProbingHashMap<K, V> {
+
+    /**
+     * The base two logarithm of CHUNK_SIZE.
+     */
+    public static final int CHUNK_SHIFT = 15;
+
+    /**
+     * The number of slots in a chunk.
+     */
+    public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    /**
+     * The initial capacity of the ChunkedLinearProbingHashMap when created
+     * with the default constructor.
+     */
+    public static final long INITIAL_CAPACITY = 16;
+
+    /**
+     * The largest power of two that can be used as the capacity of the
+     * table.
+     */
+    public static final long MAXIMUM_CAPACITY = 1L << 42;
+
+    /**
+     * The max load factor of the ChunkedLinearProbingHashMap.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.67;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private ChunkedEntry<K, V>[][] chunks;
+    private long capacity;
+    private long size;
+
+    /**
+     * Constructs a new ChunkedLinearProbingHashMap.
+     * The table has an initial capacity of INITIAL_CAPACITY.
+     * We use constructor chaining.
+     */
+    public ChunkedLinearProbingHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new ChunkedLinearProbingHashMap.
+     * The table has an initial capacity of initialCapacity rounded up to the
+     * next power of two.
+     *
+     * @param initialCapacity the initial capacity of the table
+     */
+    public ChunkedLinearProbingHashMap(long initialCapacity) {
+        this.capacity = tableSizeFor(initialCapacity);
+        this.chunks = newChunks(this.capacity);
+        this.size = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, we replace the entry's value with the new one
+     * passed in.
+     *
+     * Before adding any data, we resize the table to 2 * old capacity if the
+     * data would violate the max load factor.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key or value is null!!"
+                    + " None of them can be null!!");
+        }
+        if ((this.size + 1) > (MAX_LOAD_FACTOR * this.capacity)
+                && this.capacity < MAXIMUM_CAPACITY) {
+            resizeBackingTable(2 * this.capacity);
+        }
+        int hash = LinearProbingHashMap.spread(key.hashCode());
+        long index = probe(key, hash);
+        if (index >= 0) {
+            ChunkedEntry<K, V> entry = slotAt(this.chunks, index);
+            V val = entry.getValue();
+            entry.setValue(value);
+            return val;
+        }
+        insertAt(this.chunks, this.capacity, -(index + 1),
+                new ChunkedEntry<>(key, value, hash));
+        this.size++;
+        return null;
+    }
+
+    /**
+     * Private Helper Method that searches the table for key using Robin Hood
+     * probing, stopping at an empty slot or at an entry closer to its home
+     * index than we are to ours.
+     *
+     * @param key  is the key to search for
+     * @param hash is the spread hashcode of key
+     * @return the index of the key if it is in the table, otherwise -(i + 1)
+     * where i is the index at which the key would be inserted
+     */
+    private long probe(Object key, int hash) {
+        long mask = this.capacity - 1;
+        long index = mix(hash) & mask;
+        long distance = 0;
+        ChunkedEntry<K, V> entry = slotAt(this.chunks, index);
+        while (entry != null && distance < this.capacity) {
+            if (probeDistance(entry, index, mask) < distance) {
+                break;
+            }
+            if (entry.getHash() == hash && entry.getKey().equals(key)) {
+                return index;
+            }
+            index = ((index + 1) & mask);
+            distance++;
+            entry = slotAt(this.chunks, index);
+        }
+        return -(index + 1);
+    }
+
+    /**
+     * Private Helper Method that inserts entry into table using Robin Hood
+     * insertion, starting at index.
+     *
+     * @param table    is the chunks of the table to insert into
+     * @param capacity is the number of slots of the table
+     * @param index    is the index at which to start inserting
+     * @param entry    is the entry to insert, whose key is not already in
+     *                 the table
+     */
+    private static <K, V> void insertAt(ChunkedEntry<K, V>[][] table, long capacity,
+                                        long index, ChunkedEntry<K, V> entry) {
+        long mask = capacity - 1;
+        ChunkedEntry<K, V> carried = entry;
+        long distance = probeDistance(carried, index, mask);
+        ChunkedEntry<K, V> occupant = slotAt(table, index);
+        while (occupant != null) {
+            long occupantDistance = probeDistance(occupant, index, mask);
+            if (occupantDistance < distance) {
+                setSlot(table, capacity, index, carried);
+                carried = occupant;
+                distance = occupantDistance;
+            }
+            index = ((index + 1) & mask);
+            distance++;
+            occupant = slotAt(table, index);
+        }
+        setSlot(table, capacity, index, carried);
+    }
+
+    /**
+     * Removes the entry with a matching key from map, shifting the rest of
+     * its cluster back by one slot so that no tombstones are left behind.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key cannot be null!!");
+        }
+        long index = probe(key, LinearProbingHashMap.spread(key.hashCode()));
+        if (index < 0) {
+            throw new NoSuchElementException("The key is not in the map!!");
+        }
+        V removed = slotAt(this.chunks, index).getValue();
+        long mask = this.capacity - 1;
+        long next = ((index + 1) & mask);
+        ChunkedEntry<K, V> entry = slotAt(this.chunks, next);
+        while (entry != null && probeDistance(entry, next, mask) > 0) {
+            setSlot(this.chunks, this.capacity, index, entry);
+            index = next;
+            next = ((next + 1) & mask);
+            entry = slotAt(this.chunks, next);
+        }
+        setSlot(this.chunks, this.capacity, index, null);
+        this.size--;
+        return removed;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key cannot be null!!");
+        }
+        long index = probe(key, LinearProbingHashMap.spread(key.hashCode()));
+        if (index < 0) {
+            throw new NoSuchElementException("The key is not in the map!!");
+        }
+        return slotAt(this.chunks, index).getValue();
+    }
+
+    /**
+     * Returns the value associated with the given key, or defaultValue if
+     * the key is not in the map.
+     *
+     * @param key          the key to search for in the map
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value associated with the given key, or defaultValue
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key cannot be null!!");
+        }
+        long index = probe(key, LinearProbingHashMap.spread(key.hashCode()));
+        return (index < 0) ? defaultValue : slotAt(this.chunks, index).getValue();
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null!!");
+        }
+        return probe(key, LinearProbingHashMap.spread(key.hashCode())) >= 0;
+    }
+
+    /**
+     * Performs action on every entry of the map, in order of increasing
+     * index, skipping chunks that were never allocated.
+     *
+     * @param action the action to perform on every key and value
+     * @throws java.lang.IllegalArgumentException if action is null
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("The action cannot be null!!");
+        }
+        for (ChunkedEntry<K, V>[] chunk : this.chunks) {
+            if (chunk != null) {
+                for (ChunkedEntry<K, V> entry : chunk) {
+                    if (entry != null) {
+                        action.accept(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Resizes the table to length, rounded up to the next power of two.
+     *
+     * The old table is walked one chunk at a time and its entries are
+     * reinserted into the new table with Robin Hood insertion. Every old
+     * chunk is released as soon as it has been drained, and new chunks are
+     * only allocated once they are written to, so the old and new tables
+     * are never both fully allocated.
+     *
+     * @param length new capacity of the table
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the hash
+     *                                            map
+     */
+    public void resizeBackingTable(long length) {
+        if (length < this.size) {
+            throw new IllegalArgumentException("Length of HashMap cannot be less"
+                    + "than the number of items!!");
+        }
+        long newCapacity = tableSizeFor(length);
+        ChunkedEntry<K, V>[][] newChunks = newChunks(newCapacity);
+        long newMask = newCapacity - 1;
+        for (int c = 0; c < this.chunks.length; c++) {
+            ChunkedEntry<K, V>[] chunk = this.chunks[c];
+            if (chunk != null) {
+                for (ChunkedEntry<K, V> entry : chunk) {
+                    if (entry != null) {
+                        insertAt(newChunks, newCapacity, entry.getMixedHash() & newMask, entry);
+                    }
+                }
+                this.chunks[c] = null;
+            }
+        }
+        this.chunks = newChunks;
+        this.capacity = newCapacity;
+    }
+
+    /**
+     * Private Helper Method that returns the entry at index of table, or null
+     * if its chunk was never allocated.
+     *
+     * @param table is the chunks of the table
+     * @param index is the index of the slot
+     * @return the entry at index
+     */
+    private static <K, V> ChunkedEntry<K, V> slotAt(
+            ChunkedEntry<K, V>[][] table, long index) {
+        ChunkedEntry<K, V>[] chunk = table[(int) (index >>> CHUNK_SHIFT)];
+        return (chunk == null) ? null : chunk[(int) index & CHUNK_MASK];
+    }
+
+    /**
+     * Private Helper Method that stores entry at index of table, allocating
+     * the chunk of index if it is the first slot of it to be written.
+     *
+     * @param table    is the chunks of the table
+     * @param capacity is the number of slots of the table
+     * @param index    is the index of the slot
+     * @param entry    is the entry to store, or null to empty the slot
+     */
+    private static <K, V> void setSlot(ChunkedEntry<K, V>[][] table, long capacity,
+                                       long index, ChunkedEntry<K, V> entry) {
+        int c = (int) (index >>> CHUNK_SHIFT);
+        if (table[c] == null) {
+            table[c] = new ChunkedEntry[(int) Math.min(capacity, CHUNK_SIZE)];
+        }
+        table[c][(int) index & CHUNK_MASK] = entry;
+    }
+
+    /**
+     * Private Helper Method that allocates the array of chunks of a table,
+     * without allocating any chunk.
+     *
+     * @param capacity is the number of slots of the table
+     * @return the array of chunks
+     */
+    private static <K, V> ChunkedEntry<K, V>[][] newChunks(long capacity) {
+        return new ChunkedEntry[(int) Math.max(1, capacity >>> CHUNK_SHIFT)][];
+    }
+
+    /**
+     * Private Helper Method that mixes a spread hashcode into 64 bits with the
+     * murmur3 fmix64 finalizer. The home index of a key is its mixed hash
+     * masked by the capacity of the table minus one.
+     *
+     * @param hash is the spread hashcode of the key
+     * @return the mixed hash
+     */
+    private static long mix(int hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Private Helper Method that returns how far entry is from its home
+     * index.
+     *
+     * @param entry is the entry stored at index
+     * @param index is the index at which entry is stored
+     * @param mask  is the capacity of the table minus one
+     * @return the probe distance of entry
+     */
+    private static long probeDistance(ChunkedEntry<?, ?> entry, long index, long mask) {
+        return (index - entry.getMixedHash()) & mask;
+    }
+
+    /**
+     * Private Helper Method that returns the smallest power of two greater
+     * than or equal to capacity, clamped to [1, MAXIMUM_CAPACITY].
+     *
+     * @param capacity is the requested capacity
+     * @return the capacity of the table
+     */
+    private static long tableSizeFor(long capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Long.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Clears the map.
+     * Resets the table to a new table of the INITIAL_CAPACITY and resets the
+     * size.
+     */
+    public void clear() {
+        this.capacity = INITIAL_CAPACITY;
+        this.chunks = newChunks(this.capacity);
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of slots of the table.
+     *
+     * @return the capacity of the map
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Entry class used by the ChunkedLinearProbingHashMap. Besides the
+     * spread hashcode, it caches the hashcode mixed into 64 bits, so the home
+     * index of an entry is a single mask while probing, inserting, removing
+     * and resizing.
+     */
+    private static final class ChunkedEntry<K, V> extends LinearProbingHashMapEntry<K, V> {
+
+        private final long mixedHash;
+
+        /**
+         * Constructs a new ChunkedEntry.
+         *
+         * @param key   the key of the entry
+         * @param value the value of the entry
+         * @param hash  the spread hashcode of key
+         */
+        ChunkedEntry(K key, V value, int hash) {
+            super(key, value, hash);
+            this.mixedHash = mix(hash);
+        }
+
+        /**
+         * Gets the spread hashcode of the key mixed into 64 bits.
+         *
+         * @return the mixed hash
+         */
+        long getMixedHash() {
+            return mixedHash;
+        }
+    }
+}
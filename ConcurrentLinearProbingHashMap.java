@@ -0,0 +1,536 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * My implementation of a thread-safe LinearProbingHashMap.
+ *
+ * Reads never lock or wait. Writes take no locks either: a new key claims an
+ * empty slot with a compare-and-set, and values are replaced with a
+ * compare-and-set on the node that holds them. Once a node has claimed a
+ * slot, its key never changes, so removing a key only clears the value and
+ * leaves the node behind as a tombstone until the next resize.
+ *
+ * Resizing is cooperative. The thread that crosses the load factor links a
+ * new table to the current one, and every writer that notices the new table
+ * claims chunks of TRANSFER_CHUNK slots and moves the nodes in them. Nodes are
+ * moved by reference, so a value written to a node that has already been
+ * moved is still seen in the new table. Moved slots are marked with a
+ * forwarding node, MOVED for a slot that held a node and EMPTIED for a slot
+ * that was empty. A writer that runs into a resize waits for the other
+ * helpers to finish their chunks before it writes to the new table, so
+ * writes are not lock-free while a resize is in progress.
+ *
+ * Readers never wait for a resize. Since the chunks are moved in no
+ * particular order, a reader that meets MOVED keeps probing the old table,
+ * where the rest of the cluster may still be, and only moves on to the new
+ * table once it reaches the end of the cluster without finding the key.
+ *
+ * @author AKSHAT KARWA
+ */
+public class ConcurrentLinearProbingHashMap<K, V> {
+
+    /**
+     * The initial capacity of the ConcurrentLinearProbingHashMap when
+     * created with the default constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The largest power of two that can be used as the length of the
+     * backing table.
+     */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The max load factor of the ConcurrentLinearProbingHashMap. Tombstones
+     * count towards the load, since they still occupy their slots.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.67;
+
+    /**
+     * The number of slots a thread claims at a time while helping a resize.
+     */
+    public static final int TRANSFER_CHUNK = 64;
+
+    /**
+     * The value a resize freezes a removed node with, so that it cannot be
+     * brought back to life in the old table after the resize skipped it.
+     */
+    private static final Object DEAD = new Object();
+
+    /**
+     * The forwarding node left in a slot of the old table once its node has
+     * been moved to the new table.
+     */
+    private static final Node<?, ?> MOVED = new Node<>(null, 0, null);
+
+    /**
+     * The forwarding node left in a slot of the old table that was empty
+     * when the resize reached it.
+     */
+    private static final Node<?, ?> EMPTIED = new Node<>(null, 0, null);
+
+    private static final AtomicReferenceFieldUpdater<ConcurrentLinearProbingHashMap, Table> TABLE =
+            AtomicReferenceFieldUpdater.newUpdater(ConcurrentLinearProbingHashMap.class, Table.class, "table");
+
+    private volatile Table<K, V> table;
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Constructs a new ConcurrentLinearProbingHashMap.
+     * The backing table has an initial capacity of INITIAL_CAPACITY.
+     * We use constructor chaining.
+     */
+    public ConcurrentLinearProbingHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new ConcurrentLinearProbingHashMap.
+     * The backing table has an initial capacity of initialCapacity rounded
+     * up to the next power of two.
+     * initialCapacity is a non-negative integer.
+     *
+     * @param initialCapacity the initial capacity of the backing table
+     */
+    public ConcurrentLinearProbingHashMap(int initialCapacity) {
+        this.table = new Table<>(tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If the map already has this
+     * key, we replace its value with the new one passed in.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key or value is null!!"
+                    + " None of them can be null!!");
+        }
+        int hash = spread(key.hashCode());
+        Table<K, V> tab = this.table;
+        retry:
+        while (true) {
+            if (tab.next.get() != null) {
+                tab = helpTransfer(tab);
+                continue;
+            }
+            int mask = tab.length - 1;
+            int index = hash & mask;
+            int probes = 0;
+            while (probes < tab.length) {
+                Node<K, V> node = tab.slots.get(index);
+                if (node == null) {
+                    Node<K, V> newNode = new Node<>(key, hash, value);
+                    if (!tab.slots.compareAndSet(index, null, newNode)) {
+                        continue;
+                    }
+                    this.size.increment();
+                    if (tab.used.incrementAndGet() > tab.threshold) {
+                        startResize(tab);
+                        helpTransfer(tab);
+                    }
+                    return null;
+                }
+                if (node == MOVED || node == EMPTIED) {
+                    tab = helpTransfer(tab);
+                    continue retry;
+                }
+                if (node.hash == hash && key.equals(node.key)) {
+                    while (true) {
+                        Object old = node.value;
+                        if (old == DEAD) {
+                            tab = helpTransfer(tab);
+                            continue retry;
+                        }
+                        if (node.casValue(old, value)) {
+                            if (old == null) {
+                                this.size.increment();
+                            }
+                            return (V) old;
+                        }
+                    }
+                }
+                index = ((index + 1) & mask);
+                probes++;
+            }
+            startResize(tab);
+            tab = helpTransfer(tab);
+        }
+    }
+
+    /**
+     * Removes the value associated with the given key. The node holding the
+     * key stays in the table as a tombstone until the next resize.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key cannot be null!!");
+        }
+        int hash = spread(key.hashCode());
+        Table<K, V> tab = this.table;
+        retry:
+        while (true) {
+            Node<K, V> node = findNode(tab, key, hash);
+            if (node == MOVED) {
+                tab = helpTransfer(tab);
+                continue;
+            }
+            if (node == null) {
+                throw new NoSuchElementException("The key is not in the map!!");
+            }
+            while (true) {
+                Object old = node.value;
+                if (old == DEAD) {
+                    tab = helpTransfer(tab);
+                    continue retry;
+                }
+                if (old == null) {
+                    throw new NoSuchElementException("The key is not in the map!!");
+                }
+                if (node.casValue(old, null)) {
+                    this.size.decrement();
+                    return (V) old;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the value associated with the given key. Never blocks, even
+     * while the map is being resized.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key cannot be null!!");
+        }
+        V value = find(key);
+        if (value == null) {
+            throw new NoSuchElementException("The key is not in the map!!");
+        }
+        return value;
+    }
+
+    /**
+     * Returns whether or not the key is in the map. Never blocks, even
+     * while the map is being resized.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null!!");
+        }
+        return find(key) != null;
+    }
+
+    /**
+     * Private Helper Method that looks key up, following forwarding nodes
+     * into newer tables without waiting for a resize to finish.
+     *
+     * @param key is the key to search for
+     * @return the value associated with key, or null if it is not in the map
+     */
+    private V find(K key) {
+        int hash = spread(key.hashCode());
+        Table<K, V> tab = this.table;
+        while (true) {
+            Node<K, V> node = readNode(tab, key, hash);
+            if (node == MOVED) {
+                tab = tab.next.get();
+            } else if (node == null) {
+                return null;
+            } else {
+                Object value = node.value;
+                return (value == DEAD) ? null : (V) value;
+            }
+        }
+    }
+
+    /**
+     * Private Helper Method that probes a single table for key.
+     *
+     * @param tab  is the table to search
+     * @param key  is the key to search for
+     * @param hash is the spread hashcode of key
+     * @return the node holding key, MOVED if the probe ran into a forwarding
+     * node, or null if the key is not in tab
+     */
+    private Node<K, V> findNode(Table<K, V> tab, K key, int hash) {
+        int mask = tab.length - 1;
+        int index = hash & mask;
+        for (int probes = 0; probes < tab.length; probes++) {
+            Node<K, V> node = tab.slots.get(index);
+            if (node == null) {
+                return null;
+            }
+            if (node == MOVED || node == EMPTIED) {
+                return (Node<K, V>) MOVED;
+            }
+            if (node.hash == hash && key.equals(node.key)) {
+                return node;
+            }
+            index = ((index + 1) & mask);
+        }
+        return (tab.next.get() != null) ? (Node<K, V>) MOVED : null;
+    }
+
+    /**
+     * Private Helper Method that probes a single table for key on behalf of
+     * a reader. A slot marked MOVED held a node of the cluster, but the
+     * slots after it may not have been moved yet, so the probe goes on past
+     * it. Once the probe reaches the end of the cluster, an empty slot or
+     * EMPTIED, the key is not in tab, and it can only be in the next table
+     * if one of the skipped slots was its own.
+     *
+     * Nodes are moved by reference, so a node found in the old table holds
+     * the same value as in the new one.
+     *
+     * @param tab  is the table to search
+     * @param key  is the key to search for
+     * @param hash is the spread hashcode of key
+     * @return the node holding key, MOVED if the key may be in the next
+     * table, or null if the key is not in the map
+     */
+    private Node<K, V> readNode(Table<K, V> tab, K key, int hash) {
+        int mask = tab.length - 1;
+        int index = hash & mask;
+        boolean forwarded = false;
+        for (int probes = 0; probes < tab.length; probes++) {
+            Node<K, V> node = tab.slots.get(index);
+            if (node == null || node == EMPTIED) {
+                return forwarded ? (Node<K, V>) MOVED : null;
+            }
+            if (node == MOVED) {
+                forwarded = true;
+            } else if (node.hash == hash && key.equals(node.key)) {
+                return node;
+            }
+            index = ((index + 1) & mask);
+        }
+        return (tab.next.get() != null) ? (Node<K, V>) MOVED : null;
+    }
+
+    /**
+     * Private Helper Method that links a new table to tab, unless another
+     * thread already did.
+     *
+     * The new table doubles the length of tab when at least a quarter of the
+     * slots hold live mappings, otherwise it has the same length and the
+     * resize only clears out the tombstones.
+     *
+     * @param tab is the table to resize
+     */
+    private void startResize(Table<K, V> tab) {
+        if (tab.next.get() == null) {
+            int length = tab.length;
+            if (this.size.sum() >= (tab.length / 4) && tab.length < MAXIMUM_CAPACITY) {
+                length = 2 * tab.length;
+            }
+            tab.next.compareAndSet(null, new Table<>(length));
+        }
+    }
+
+    /**
+     * Private Helper Method that helps move the nodes of tab into the table
+     * linked to it, and waits until every slot has been moved.
+     *
+     * @param tab is the table being resized
+     * @return the current table of the map once tab has been replaced
+     */
+    private Table<K, V> helpTransfer(Table<K, V> tab) {
+        Table<K, V> next = tab.next.get();
+        if (next == null) {
+            return this.table;
+        }
+        int start;
+        while ((start = tab.transferIndex.getAndAdd(TRANSFER_CHUNK)) < tab.length) {
+            int end = Math.min(start + TRANSFER_CHUNK, tab.length);
+            for (int i = start; i < end; i++) {
+                transferSlot(tab, next, i);
+            }
+            if (tab.transferred.addAndGet(end - start) == tab.length) {
+                TABLE.compareAndSet(this, tab, next);
+            }
+        }
+        while (this.table == tab) {
+            Thread.onSpinWait();
+        }
+        return this.table;
+    }
+
+    /**
+     * Private Helper Method that moves the node in slot index of tab into
+     * next and leaves a forwarding node behind. Empty slots are marked with
+     * EMPTIED so that no new key can claim them, and tombstones are frozen
+     * with DEAD and dropped, leaving MOVED behind since they were part of a
+     * cluster.
+     *
+     * @param tab   is the table being resized
+     * @param next  is the table being resized into
+     * @param index is the index of the slot to move
+     */
+    private void transferSlot(Table<K, V> tab, Table<K, V> next, int index) {
+        while (true) {
+            Node<K, V> node = tab.slots.get(index);
+            if (node == null) {
+                if (tab.slots.compareAndSet(index, null, (Node<K, V>) EMPTIED)) {
+                    return;
+                }
+            } else if (node.value == null) {
+                if (node.casValue(null, DEAD)) {
+                    tab.slots.set(index, (Node<K, V>) MOVED);
+                    return;
+                }
+            } else {
+                int mask = next.length - 1;
+                int target = node.hash & mask;
+                while (!next.slots.compareAndSet(target, null, node)) {
+                    target = ((target + 1) & mask);
+                }
+                next.used.incrementAndGet();
+                tab.slots.set(index, (Node<K, V>) MOVED);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Private Helper Method that mixes the bits of a hashcode using the
+     * murmur3 fmix32 finalizer.
+     *
+     * @param keyHashcode is the raw integer hashcode value of the key.
+     * @return returns the spread hashcode.
+     */
+    private static int spread(int keyHashcode) {
+        int h = keyHashcode;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Private Helper Method that returns the smallest power of two greater
+     * than or equal to capacity, clamped to [1, MAXIMUM_CAPACITY].
+     *
+     * @param capacity is the requested capacity.
+     * @return returns the power of two length to use for the backing table.
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Clears the map.
+     * Replaces the table with a new table of the INITIAL_CAPACITY. Writes that
+     * race with clear may land in the discarded table.
+     */
+    public void clear() {
+        this.table = new Table<>(INITIAL_CAPACITY);
+        this.size.reset();
+    }
+
+    /**
+     * Returns the size of the map. While other threads are writing, this is
+     * only an estimate.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return (int) this.size.sum();
+    }
+
+    /**
+     * A slot of the table. The key and hash are fixed once the node claims a
+     * slot, the value is null while the key is removed.
+     */
+    private static final class Node<K, V> {
+
+        private static final AtomicReferenceFieldUpdater<Node, Object> VALUE =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Object.class, "value");
+
+        private final K key;
+        private final int hash;
+        private volatile Object value;
+
+        /**
+         * Constructs a new Node.
+         *
+         * @param key   the key of the node
+         * @param hash  the spread hashcode of the key
+         * @param value the value of the node
+         */
+        private Node(K key, int hash, Object value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+
+        /**
+         * Atomically sets the value to update if it is currently expected.
+         *
+         * @param expected the expected current value
+         * @param update   the new value
+         * @return true if the value was set, false otherwise
+         */
+        private boolean casValue(Object expected, Object update) {
+            return VALUE.compareAndSet(this, expected, update);
+        }
+    }
+
+    /**
+     * A backing table along with the state of its resize, if any.
+     */
+    private static final class Table<K, V> {
+
+        private final int length;
+        private final int threshold;
+        private final AtomicReferenceArray<Node<K, V>> slots;
+        private final AtomicInteger used = new AtomicInteger();
+        private final AtomicReference<Table<K, V>> next = new AtomicReference<>();
+        private final AtomicInteger transferIndex = new AtomicInteger();
+        private final AtomicInteger transferred = new AtomicInteger();
+
+        /**
+         * Constructs a new empty Table.
+         *
+         * @param length the number of slots, a power of two
+         */
+        private Table(int length) {
+            this.length = length;
+            this.threshold = (int) (MAX_LOAD_FACTOR * length);
+            this.slots = new AtomicReferenceArray<>(length);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for reads of ConcurrentLinearProbingHashMap while it resizes.
+ *
+ * The repository has no test framework, so the checks are run from main and
+ * throw an AssertionError on the first failure.
+ *
+ * @author AKSHAT KARWA
+ */
+public class ConcurrentLinearProbingHashMapResizeTest {
+
+    private static final int STABLE_KEYS = 2000;
+    private static final int WRITES = 1000000;
+    private static final int READERS = 4;
+
+    /**
+     * Runs every check.
+     *
+     * @param args unused
+     * @throws InterruptedException if interrupted while waiting for the
+     *                              threads
+     */
+    public static void main(String[] args) throws InterruptedException {
+        readsDuringResizeSeeStableKeys();
+        System.out.println("All ConcurrentLinearProbingHashMap resize checks passed.");
+    }
+
+    /**
+     * Checks that keys which are never removed are always found by get and
+     * containsKey while another thread grows the map through many resizes.
+     * A reader that gave up on the old table too early would only miss a key
+     * when it runs in the middle of a transfer, so the check is repeated
+     * over many resizes and reads rather than being exact.
+     *
+     * @throws InterruptedException if interrupted while waiting for the
+     *                              threads
+     */
+    private static void readsDuringResizeSeeStableKeys() throws InterruptedException {
+        ConcurrentLinearProbingHashMap<Integer, Integer> map = new ConcurrentLinearProbingHashMap<>();
+        for (int key = 0; key < STABLE_KEYS; key++) {
+            map.put(key, key);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger misses = new AtomicInteger();
+        AtomicInteger wrongValues = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] readers = new Thread[READERS];
+        for (int r = 0; r < READERS; r++) {
+            readers[r] = new Thread(() -> {
+                awaitQuietly(start);
+                while (!done.get()) {
+                    for (int key = 0; key < STABLE_KEYS; key++) {
+                        if (!map.containsKey(key)) {
+                            misses.incrementAndGet();
+                        }
+                        try {
+                            if (map.get(key) != key) {
+                                wrongValues.incrementAndGet();
+                            }
+                        } catch (NoSuchElementException e) {
+                            misses.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            readers[r].start();
+        }
+        Thread writer = new Thread(() -> {
+            awaitQuietly(start);
+            for (int key = STABLE_KEYS; key < STABLE_KEYS + WRITES; key++) {
+                map.put(key, key);
+                if ((key & 3) == 0 && key > STABLE_KEYS) {
+                    map.remove(key - 1);
+                }
+            }
+            done.set(true);
+        });
+        writer.start();
+        start.countDown();
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        check(misses.get() == 0, misses.get() + " reads missed a key that was never removed");
+        check(wrongValues.get() == 0, wrongValues.get() + " reads returned the wrong value");
+        for (int key = 0; key < STABLE_KEYS; key++) {
+            check(map.get(key) == key, "the value of " + key + " was lost");
+        }
+    }
+
+    /**
+     * Private Helper Method that waits for latch, giving up if interrupted.
+     *
+     * @param latch is the latch to wait for
+     */
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Private Helper Method that throws if a condition does not hold.
+     *
+     * @param condition is the condition to check
+     * @param message   is the message of the failure
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * My implementation of a thread-safe priority queue made of MinHeap shards,
+ * using the MultiQueue scheme.
+ *
+ * Every shard is a MinHeap with its own lock, and the minimum of every shard
+ * is published so it can be read without locking. An add locks a random
+ * shard, moving on to another one if the lock is taken, so producers rarely
+ * wait for each other. A poll reads the minimums of two random shards and
+ * removes from the one whose minimum is smaller. With a few shards per
+ * thread, contention is spread out and throughput grows with the number of
+ * threads.
+ *
+ * The price is that the queue is relaxed: a poll returns a small element,
+ * but not always the smallest one. In strict mode, a poll locks every shard
+ * and removes the smallest minimum instead, which gives exact ordering at
+ * the cost of serializing polls.
+ *
+ * @author AKSHAT KARWA
+ */
+public class ConcurrentMultiQueue<T extends Comparable<? super T>> {
+
+    /**
+     * The number of shards per available processor when the queue is
+     * created with the default constructor.
+     */
+    public static final int SHARDS_PER_PROCESSOR = 2;
+
+    private final MinHeap<T>[] shards;
+    private final ReentrantLock[] locks;
+    private final AtomicReferenceArray<T> minimums;
+    private final boolean strict;
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Constructs a new relaxed ConcurrentMultiQueue with
+     * SHARDS_PER_PROCESSOR shards per available processor.
+     * We use constructor chaining.
+     */
+    public ConcurrentMultiQueue() {
+        this(SHARDS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors(), false);
+    }
+
+    /**
+     * Constructs a new ConcurrentMultiQueue.
+     *
+     * @param shardCount the number of MinHeap shards
+     * @param strict     true for polls to always return the smallest element,
+     *                   false for the relaxed two-choice polls
+     * @throws java.lang.IllegalArgumentException if shardCount is not
+     *                                            positive
+     */
+    public ConcurrentMultiQueue(int shardCount, boolean strict) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("The number of shards must be positive!!");
+        }
+        this.shards = new MinHeap[shardCount];
+        this.locks = new ReentrantLock[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new MinHeap<>();
+            this.locks[i] = new ReentrantLock();
+        }
+        this.minimums = new AtomicReferenceArray<>(shardCount);
+        this.strict = strict;
+    }
+
+    /**
+     * Adds an item to a random shard, trying other shards while their lock is
+     * taken. In strict mode, we wait for the lock of the shard instead, since
+     * every lock is taken while a poll runs.
+     *
+     * @param data the data to add
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void add(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data to add cannot be null!!");
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int shard = random.nextInt(this.shards.length);
+        if (this.strict) {
+            this.locks[shard].lock();
+        } else {
+            while (!this.locks[shard].tryLock()) {
+                shard = random.nextInt(this.shards.length);
+            }
+        }
+        try {
+            this.shards[shard].add(data);
+            this.minimums.set(shard, this.shards[shard].getMin());
+        } finally {
+            this.locks[shard].unlock();
+        }
+        this.size.increment();
+    }
+
+    /**
+     * Removes and returns a small item of the queue, or returns null if the
+     * queue is empty.
+     *
+     * In relaxed mode, the item comes from whichever of two random shards
+     * has the smaller minimum. In strict mode, it is the smallest item of
+     * the queue.
+     *
+     * @return the data that was removed, or null if the queue is empty
+     */
+    public T poll() {
+        return this.strict ? pollStrict() : pollRelaxed();
+    }
+
+    /**
+     * Removes and returns a small item of the queue, like poll.
+     *
+     * @return the data that was removed
+     * @throws java.util.NoSuchElementException if the queue is empty
+     */
+    public T remove() {
+        T removed = poll();
+        if (removed == null) {
+            throw new NoSuchElementException("The queue is empty. There is no element to remove!!");
+        }
+        return removed;
+    }
+
+    /**
+     * Private Helper Method that polls with the two-choice rule.
+     *
+     * We read the published minimums of two random shards without locking,
+     * and try to lock the one with the smaller minimum. If the lock is
+     * taken, or the shard was emptied in the meantime, we try again with two
+     * new shards. If both shards are empty, we look for any non-empty shard
+     * before concluding that the queue is empty.
+     *
+     * @return the data that was removed, or null if the queue is empty
+     */
+    private T pollRelaxed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            int first = random.nextInt(this.shards.length);
+            int second = random.nextInt(this.shards.length);
+            T firstMin = this.minimums.get(first);
+            T secondMin = this.minimums.get(second);
+            int shard;
+            if (firstMin == null && secondMin == null) {
+                shard = anyNonEmptyShard();
+                if (shard < 0) {
+                    return null;
+                }
+            } else if (firstMin == null
+                    || (secondMin != null && secondMin.compareTo(firstMin) < 0)) {
+                shard = second;
+            } else {
+                shard = first;
+            }
+            if (this.locks[shard].tryLock()) {
+                try {
+                    if (!this.shards[shard].isEmpty()) {
+                        return removeFrom(shard);
+                    }
+                } finally {
+                    this.locks[shard].unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Private Helper Method that polls the smallest item of the queue while
+     * holding the lock of every shard. Locks are always taken in order of
+     * increasing shard, so strict polls cannot deadlock.
+     *
+     * @return the data that was removed, or null if the queue is empty
+     */
+    private T pollStrict() {
+        for (ReentrantLock lock : this.locks) {
+            lock.lock();
+        }
+        try {
+            int best = -1;
+            for (int i = 0; i < this.shards.length; i++) {
+                if (!this.shards[i].isEmpty() && (best < 0
+                        || this.shards[i].getMin().compareTo(this.shards[best].getMin()) < 0)) {
+                    best = i;
+                }
+            }
+            return (best < 0) ? null : removeFrom(best);
+        } finally {
+            for (int i = this.locks.length - 1; i >= 0; i--) {
+                this.locks[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * Private Helper Method that removes the minimum of a non-empty shard
+     * whose lock is held, and publishes its new minimum.
+     *
+     * @param shard is the index of the shard
+     * @return the data that was removed
+     */
+    private T removeFrom(int shard) {
+        T removed = this.shards[shard].remove();
+        this.minimums.set(shard, this.shards[shard].isEmpty() ? null : this.shards[shard].getMin());
+        this.size.decrement();
+        return removed;
+    }
+
+    /**
+     * Private Helper Method that returns the index of a shard whose published
+     * minimum is not null, starting from a random shard.
+     *
+     * @return the index of the shard, or -1 if every shard looks empty
+     */
+    private int anyNonEmptyShard() {
+        int start = ThreadLocalRandom.current().nextInt(this.shards.length);
+        for (int i = 0; i < this.shards.length; i++) {
+            int shard = (start + i) % this.shards.length;
+            if (this.minimums.get(shard) != null) {
+                return shard;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the smallest published minimum of the shards without removing
+     * it. While other threads are modifying the queue, this is only a
+     * snapshot.
+     *
+     * @return the minimum element, or null if the queue is empty
+     */
+    public T peek() {
+        T min = null;
+        for (int i = 0; i < this.shards.length; i++) {
+            T shardMin = this.minimums.get(i);
+            if (shardMin != null && (min == null || shardMin.compareTo(min) < 0)) {
+                min = shardMin;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Returns whether or not polls always return the smallest element.
+     *
+     * @return true in strict mode, false in relaxed mode
+     */
+    public boolean isStrict() {
+        return strict;
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Returns whether or not the queue is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the size of the queue. While other threads are modifying the
+     * queue, this is only an estimate.
+     *
+     * @return the size of the queue
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, size.sum()));
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * My implementation of a Count-Min Sketch with 4-bit counters, used to
+ * estimate how often keys were seen.
+ *
+ * Every key maps to one counter in each of DEPTH rows. Counters are packed
+ * sixteen to a long and saturate at 15. The estimate of a key is the
+ * smallest of its counters, which can overestimate because of collisions,
+ * but never underestimates. Once the number of increments reaches the
+ * sample size, every counter is halved, so the sketch forgets old history
+ * and keeps tracking recent frequency.
+ *
+ * @author AKSHAT KARWA
+ */
+public class CountMinSketch {
+
+    /**
+     * The number of counters every key is counted in.
+     */
+    public static final int DEPTH = 4;
+
+    /**
+     * The largest value a counter can hold.
+     */
+    public static final int MAX_COUNT = 15;
+
+    private static final int[] SEEDS = {0x97cb3127, 0xb3a4ad0f, 0x3c6ef372, 0x5b9e6a1d};
+    private static final long HALVING_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int counterMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Constructs a new CountMinSketch sized for tracking about
+     * expectedEntries distinct keys at once.
+     *
+     * @param expectedEntries the number of keys expected to be tracked
+     * @throws java.lang.IllegalArgumentException if expectedEntries is not
+     *                                            positive
+     */
+    public CountMinSketch(int expectedEntries) {
+        if (expectedEntries <= 0) {
+            throw new IllegalArgumentException("The expected number of entries must be positive!!");
+        }
+        int counters = Math.max(16, Integer.highestOneBit(Math.min(1 << 28, expectedEntries) - 1) << 3);
+        this.table = new long[counters / 16];
+        this.counterMask = counters - 1;
+        this.sampleSize = 10 * Math.max(expectedEntries, 16);
+    }
+
+    /**
+     * Increments the counters of the given hashcode, and halves every counter
+     * once the sample size is reached.
+     *
+     * @param hash the hashcode of the key that was seen
+     */
+    public void increment(int hash) {
+        boolean incremented = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int counter = indexOf(hash, row);
+            int shift = (counter & 15) << 2;
+            int word = counter >>> 4;
+            if (((this.table[word] >>> shift) & 0xF) < MAX_COUNT) {
+                this.table[word] += 1L << shift;
+                incremented = true;
+            }
+        }
+        if (incremented && ++this.additions >= this.sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Returns the estimated number of times the given hashcode was seen
+     * since the counters were last halved.
+     *
+     * @param hash the hashcode of the key
+     * @return the estimated frequency, between 0 and MAX_COUNT
+     */
+    public int frequency(int hash) {
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            int counter = indexOf(hash, row);
+            int count = (int) (this.table[counter >>> 4] >>> ((counter & 15) << 2)) & 0xF;
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Halves every counter.
+     */
+    public void reset() {
+        for (int i = 0; i < this.table.length; i++) {
+            this.table[i] = (this.table[i] >>> 1) & HALVING_MASK;
+        }
+        this.additions /= 2;
+    }
+
+    /**
+     * Private Helper Method that returns the index of the counter of hash in
+     * the given row.
+     *
+     * @param hash is the hashcode of the key
+     * @param row  is the row, between 0 and DEPTH - 1
+     * @return the index of the counter among all counters
+     */
+    private int indexOf(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * SEEDS[row];
+        h ^= h >>> 16;
+        return h & this.counterMask;
+    }
+}
@@ -348,6 +348,60 @@ public class DoublyLinkedList<T> {
         return removeOccurrence(data, curr.getPrevious());
     }
 
+    /**
+     * Removes the given node from the list and returns its data.
+     * O(1), since the node already knows its neighbours. The node must be
+     * a node of this list, such as the head after addToFront.
+     *
+     * @param node the node to be removed from the list
+     * @return the data of the node that was removed
+     * @throws java.lang.IllegalArgumentException if node is null
+     */
+    public T removeNode(DoublyLinkedListNode<T> node) {
+        if (node == null) {
+            throw new IllegalArgumentException("Node to be removed is null!");
+        }
+        if (node == this.head) {
+            return removeFromFront();
+        } else if (node == this.tail) {
+            return removeFromBack();
+        }
+        node.getPrevious().setNext(node.getNext());
+        node.getNext().setPrevious(node.getPrevious());
+        node.setPrevious(null);
+        node.setNext(null);
+        this.size--;
+        return node.getData();
+    }
+
+    /**
+     * Moves the given node to the front of the list, without allocating a
+     * new node.
+     * O(1). The node must be a node of this list.
+     *
+     * @param node the node to be moved to the front of the list
+     * @throws java.lang.IllegalArgumentException if node is null
+     */
+    public void moveToFront(DoublyLinkedListNode<T> node) {
+        if (node == null) {
+            throw new IllegalArgumentException("Node to be moved is null!");
+        }
+        if (node == this.head) {
+            return;
+        }
+        if (node == this.tail) {
+            this.tail = node.getPrevious();
+            this.tail.setNext(null);
+        } else {
+            node.getPrevious().setNext(node.getNext());
+            node.getNext().setPrevious(node.getPrevious());
+        }
+        node.setPrevious(null);
+        node.setNext(this.head);
+        this.head.setPrevious(node);
+        this.head = node;
+    }
+
     /**
      * Returns an array representation of the linked list. If the list is
      * size 0, returns an empty array.
@@ -0,0 +1,519 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * My implementation of an external-memory merge sort, for files of records
+ * that do not fit in memory.
+ *
+ * A file to sort is a sequence of records of the same width, written by a
+ * FixedWidthCodec. The sort first reads as many records as fit in the memory
+ * budget, sorts them, and spills them to a temporary run file, until the
+ * input is done. The runs are then merged with a MinHeap holding one
+ * ExternalMergeSortCursor per run: the cursor at the root gives the next
+ * record, and once it moves on it takes its own place back with replaceMin,
+ * so every record costs a single downHeap. If there are more runs than the
+ * fan-in, groups of fan-in runs are first merged into longer runs, pass
+ * after pass, until the last pass can write the output.
+ *
+ * Records are never decoded. A run is read into one buffer as it is on
+ * disk, an array of record indices is sorted, and the records are copied
+ * from buffer to buffer in that order as they are written. If the codec has
+ * sort keys, as the codecs of numbers do, the keys are taken once per record
+ * and radix sorted along with the indices, and the merge compares the keys.
+ * Otherwise the indices are merge sorted with FixedWidthCodec.compare on the
+ * bytes. Either way no object is created per record, as long as the codec
+ * compares the bytes itself.
+ *
+ * Every file is read and written sequentially through FileChannels and
+ * buffers that share the memory budget, and the sort is stable.
+ *
+ * @author AKSHAT KARWA
+ */
+public class ExternalMergeSort<T extends Comparable<? super T>> {
+
+    /**
+     * The memory budget of a sort created without one, in bytes.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    /**
+     * The largest number of runs merged at once by a sort created without
+     * a fan-in.
+     */
+    public static final int DEFAULT_FAN_IN = 64;
+
+    /**
+     * The number of bytes a record costs on top of its width while its run
+     * is merge sorted, for its index and the scratch index of the merge
+     * sort, used to size the runs.
+     */
+    public static final int RECORD_OVERHEAD = 2 * Integer.BYTES;
+
+    /**
+     * The number of bytes a record costs on top of its width while its run
+     * is radix sorted, for its key and index and their scratch copies, used
+     * to size the runs when the codec has sort keys.
+     */
+    public static final int KEYED_RECORD_OVERHEAD = 2 * (Long.BYTES + Integer.BYTES);
+
+    /**
+     * The number of bits of the digits of the radix sort. Eleven bits sort
+     * a long in six passes with counts that still fit in the cache.
+     */
+    private static final int RADIX_BITS = 11;
+
+    /**
+     * The length of the ranges of a run that the merge sort leaves to an
+     * insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private static final int MIN_BUFFER_BYTES = 1 << 12;
+    private static final int MAX_BUFFER_BYTES = 1 << 23;
+
+    private final FixedWidthCodec<T> codec;
+    private final long memoryBudget;
+    private final int fanIn;
+    private final Path temporaryDirectory;
+    private int runs;
+    private int mergePasses;
+
+    /**
+     * Constructs a new ExternalMergeSort with the default memory budget and
+     * fan-in, that spills its runs to the default temporary directory.
+     * We use constructor chaining.
+     *
+     * @param codec the codec of the records
+     * @throws java.lang.IllegalArgumentException if codec is null
+     */
+    public ExternalMergeSort(FixedWidthCodec<T> codec) {
+        this(codec, DEFAULT_MEMORY_BUDGET, DEFAULT_FAN_IN,
+                Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Constructs a new ExternalMergeSort.
+     *
+     * @param codec              the codec of the records
+     * @param memoryBudget       the number of bytes the records and buffers
+     *                           of a sort may take
+     * @param fanIn              the largest number of runs merged at once
+     * @param temporaryDirectory the directory to spill the runs to
+     * @throws java.lang.IllegalArgumentException if codec or
+     *                                            temporaryDirectory is null,
+     *                                            if fanIn is less than 2,
+     *                                            or if memoryBudget cannot
+     *                                            hold a buffer per run
+     *                                            merged at once
+     */
+    public ExternalMergeSort(FixedWidthCodec<T> codec, long memoryBudget, int fanIn,
+                             Path temporaryDirectory) {
+        if (codec == null || temporaryDirectory == null) {
+            throw new IllegalArgumentException("The codec and directory cannot be null!!");
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("The fan-in must be at least 2!!");
+        }
+        if (memoryBudget < (long) (fanIn + 1) * Math.max(MIN_BUFFER_BYTES, codec.width())) {
+            throw new IllegalArgumentException("The memory budget is too small for the fan-in!!");
+        }
+        this.codec = codec;
+        this.memoryBudget = memoryBudget;
+        this.fanIn = fanIn;
+        this.temporaryDirectory = temporaryDirectory;
+    }
+
+    /**
+     * Sorts the records of input into output, replacing output if it
+     * exists. The temporary run files are deleted before returning, even if
+     * the sort fails.
+     *
+     * @param input  the file of records to sort
+     * @param output the file to write the sorted records to, which may be
+     *               input itself
+     * @return the number of records sorted
+     * @throws java.io.IOException                if a file cannot be read or
+     *                                            written, or if input ends
+     *                                            in the middle of a record
+     * @throws java.lang.IllegalArgumentException if input or output is null
+     */
+    public long sort(Path input, Path output) throws IOException {
+        if (input == null || output == null) {
+            throw new IllegalArgumentException("The input and output cannot be null!!");
+        }
+        List<Path> temporaries = new ArrayList<>();
+        try {
+            List<Path> runFiles = new ArrayList<>();
+            long count = spillRuns(input, runFiles, temporaries);
+            this.runs = runFiles.size();
+            this.mergePasses = 0;
+            while (runFiles.size() > this.fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runFiles.size(); from += this.fanIn) {
+                    List<Path> group = runFiles.subList(from, Math.min(from + this.fanIn,
+                            runFiles.size()));
+                    Path run = createRun(temporaries);
+                    merged.add(run);
+                    merge(group, run);
+                    for (Path done : group) {
+                        Files.delete(done);
+                        temporaries.remove(done);
+                    }
+                }
+                runFiles = merged;
+                this.mergePasses++;
+            }
+            merge(runFiles, output);
+            this.mergePasses++;
+            return count;
+        } finally {
+            for (Path run : temporaries) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Private Helper Method that creates an empty run file in the temporary
+     * directory.
+     *
+     * @param temporaries is the list of temporary files to delete at the
+     *                    end of the sort
+     * @return the new run file
+     * @throws java.io.IOException if the file cannot be created
+     */
+    private Path createRun(List<Path> temporaries) throws IOException {
+        Path run = Files.createTempFile(this.temporaryDirectory, "run", ".tmp");
+        temporaries.add(run);
+        return run;
+    }
+
+    /**
+     * Private Helper Method that reads input one memory budget at a time,
+     * sorts every chunk of records and spills it to a new run file.
+     *
+     * @param input       is the file of records to sort
+     * @param runFiles    is the list the run files are added to, in input
+     *                    order
+     * @param temporaries is the list of temporary files to delete at the
+     *                    end of the sort
+     * @return the number of records read
+     * @throws java.io.IOException if a file cannot be read or written, or if
+     *                             input ends in the middle of a record
+     */
+    private long spillRuns(Path input, List<Path> runFiles, List<Path> temporaries)
+            throws IOException {
+        int width = this.codec.width();
+        boolean keyed = this.codec.hasSortKey();
+        int bufferBytes = bufferBytes(4);
+        long runCapacity = (this.memoryBudget - bufferBytes)
+                / (width + (keyed ? KEYED_RECORD_OVERHEAD : RECORD_OVERHEAD));
+        int capacity = (int) Math.max(1, Math.min((Integer.MAX_VALUE - 8) / width, runCapacity));
+        ByteBuffer run = ByteBuffer.allocate(capacity * width);
+        int[] order = new int[capacity];
+        int[] scratch = new int[capacity];
+        long[] keys = keyed ? new long[capacity] : null;
+        long[] keyScratch = keyed ? new long[capacity] : null;
+        ByteBuffer buffer = ByteBuffer.allocate(bufferBytes);
+        long count = 0;
+        try (FileChannel reader = FileChannel.open(input, StandardOpenOption.READ)) {
+            int read = 0;
+            while (read >= 0) {
+                run.clear();
+                while (run.hasRemaining() && read >= 0) {
+                    read = reader.read(run);
+                }
+                if (run.position() % width != 0) {
+                    throw new EOFException("The file ends in the middle of a record!!");
+                }
+                int size = run.position() / width;
+                if (size == 0) {
+                    break;
+                }
+                int[] sorted;
+                if (keyed) {
+                    for (int i = 0; i < size; i++) {
+                        keys[i] = this.codec.sortKey(run, i * width);
+                        order[i] = i;
+                    }
+                    sorted = radixSort(keys, order, keyScratch, scratch, size);
+                } else {
+                    for (int i = 0; i < size; i++) {
+                        order[i] = i;
+                        scratch[i] = i;
+                    }
+                    mergeSort(run, scratch, order, 0, size);
+                    sorted = order;
+                }
+                Path runFile = createRun(temporaries);
+                runFiles.add(runFile);
+                try (FileChannel channel = FileChannel.open(runFile, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    for (int i = 0; i < size; i++) {
+                        write(channel, buffer, run, sorted[i] * width);
+                    }
+                    flush(channel, buffer);
+                }
+                count += size;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Private Helper Method that stably sorts record indices by their sort
+     * keys with a least significant digit radix sort, one RADIX_BITS digit
+     * per pass. The counts of every digit are taken in a single pass first,
+     * so the passes of digits that all keys share are skipped, such as the
+     * high digits of small numbers. The sign bit is flipped so that the
+     * unsigned order of the digits is the signed order of the keys.
+     *
+     * @param keys         is the array of sort keys
+     * @param order        is the array of indices of the records, in the
+     *                     same order as keys
+     * @param keyScratch   is the scratch array of keys
+     * @param orderScratch is the scratch array of indices
+     * @param size         is the number of records
+     * @return order or orderScratch, whichever holds the sorted indices
+     */
+    private static int[] radixSort(long[] keys, int[] order, long[] keyScratch,
+                                   int[] orderScratch, int size) {
+        int digits = (Long.SIZE + RADIX_BITS - 1) / RADIX_BITS;
+        int radix = 1 << RADIX_BITS;
+        int[][] counts = new int[digits][radix];
+        for (int i = 0; i < size; i++) {
+            long key = keys[i] ^ Long.MIN_VALUE;
+            for (int digit = 0; digit < digits; digit++) {
+                counts[digit][(int) (key >>> (digit * RADIX_BITS)) & (radix - 1)]++;
+            }
+        }
+        long[] fromKeys = keys;
+        int[] fromOrder = order;
+        long[] toKeys = keyScratch;
+        int[] toOrder = orderScratch;
+        for (int digit = 0; digit < digits; digit++) {
+            int shift = digit * RADIX_BITS;
+            int[] count = counts[digit];
+            if (count[(int) ((fromKeys[0] ^ Long.MIN_VALUE) >>> shift) & (radix - 1)] == size) {
+                continue;
+            }
+            int start = 0;
+            for (int bucket = 0; bucket < radix; bucket++) {
+                int bucketSize = count[bucket];
+                count[bucket] = start;
+                start += bucketSize;
+            }
+            for (int i = 0; i < size; i++) {
+                long key = fromKeys[i];
+                int target = count[(int) ((key ^ Long.MIN_VALUE) >>> shift) & (radix - 1)]++;
+                toKeys[target] = key;
+                toOrder[target] = fromOrder[i];
+            }
+            long[] swapKeys = fromKeys;
+            fromKeys = toKeys;
+            toKeys = swapKeys;
+            int[] swapOrder = fromOrder;
+            fromOrder = toOrder;
+            toOrder = swapOrder;
+        }
+        return fromOrder;
+    }
+
+    /**
+     * Private Helper Method that stably sorts the indices from to to of the
+     * records of run into destination, by the bytes of the records. On entry
+     * source and destination hold the same indices in that range, and both
+     * are used as scratch space, the halves being sorted into source and
+     * then merged into destination.
+     *
+     * @param run         is the buffer holding the records of the run
+     * @param source      is the scratch array of indices
+     * @param destination is the array of indices to sort
+     * @param from        is the first position of the range, inclusive
+     * @param to          is the last position of the range, exclusive
+     */
+    private void mergeSort(ByteBuffer run, int[] source, int[] destination, int from, int to) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int index = destination[i];
+                int j = i;
+                while (j > from && compareRecords(run, destination[j - 1], index) > 0) {
+                    destination[j] = destination[j - 1];
+                    j--;
+                }
+                destination[j] = index;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(run, destination, source, from, middle);
+        mergeSort(run, destination, source, middle, to);
+        if (compareRecords(run, source[middle - 1], source[middle]) <= 0) {
+            System.arraycopy(source, from, destination, from, to - from);
+            return;
+        }
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle
+                    && compareRecords(run, source[left], source[right]) <= 0)) {
+                destination[i] = source[left++];
+            } else {
+                destination[i] = source[right++];
+            }
+        }
+    }
+
+    /**
+     * Private Helper Method that compares two records of a run by their
+     * bytes.
+     *
+     * @param run   is the buffer holding the records of the run
+     * @param left  is the index of the first record
+     * @param right is the index of the second record
+     * @return a negative number, zero or a positive number if the first
+     * record comes before, together with or after the second
+     */
+    private int compareRecords(ByteBuffer run, int left, int right) {
+        int width = this.codec.width();
+        return this.codec.compare(run, left * width, run, right * width);
+    }
+
+    /**
+     * Private Helper Method that merges sorted run files into one sorted
+     * file, with a MinHeap of cursors.
+     *
+     * @param runFiles is the list of run files to merge, in input order
+     * @param output   is the file to write the merged records to
+     * @throws java.io.IOException if a file cannot be read or written
+     */
+    private void merge(List<Path> runFiles, Path output) throws IOException {
+        int bufferBytes = bufferBytes(runFiles.size() + 1);
+        MinHeap<ExternalMergeSortCursor<T>> heap = new MinHeap<>();
+        List<ExternalMergeSortCursor<T>> cursors = new ArrayList<>();
+        try {
+            for (int order = 0; order < runFiles.size(); order++) {
+                ExternalMergeSortCursor<T> cursor = new ExternalMergeSortCursor<>(FileChannel.open(
+                        runFiles.get(order), StandardOpenOption.READ), this.codec, bufferBytes, order);
+                cursors.add(cursor);
+                if (cursor.advance()) {
+                    heap.add(cursor);
+                }
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(bufferBytes);
+            try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (!heap.isEmpty()) {
+                    ExternalMergeSortCursor<T> cursor = heap.getMin();
+                    write(channel, buffer, cursor.getBuffer(), cursor.getCurrent());
+                    if (cursor.advance()) {
+                        heap.replaceMin(cursor);
+                    } else {
+                        heap.remove();
+                    }
+                }
+                flush(channel, buffer);
+            }
+        } finally {
+            for (ExternalMergeSortCursor<T> cursor : cursors) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * Private Helper Method that returns the size of every buffer when
+     * buffers of them share the memory budget, rounded down to a whole
+     * number of records.
+     *
+     * @param buffers is the number of buffers
+     * @return the size of a buffer in bytes
+     */
+    private int bufferBytes(int buffers) {
+        long share = Math.min(MAX_BUFFER_BYTES, this.memoryBudget / buffers);
+        int width = this.codec.width();
+        return (int) Math.max(width, share / width * width);
+    }
+
+    /**
+     * Private Helper Method that copies an encoded record to the write
+     * buffer, writing the buffer out first if it is full.
+     *
+     * @param channel is the channel to write to
+     * @param buffer  is the write buffer
+     * @param source  is the buffer holding the record
+     * @param offset  is the index in source of the first byte of the record
+     * @throws java.io.IOException if the buffer cannot be written
+     */
+    private void write(FileChannel channel, ByteBuffer buffer, ByteBuffer source, int offset)
+            throws IOException {
+        int width = this.codec.width();
+        if (buffer.remaining() < width) {
+            flush(channel, buffer);
+        }
+        System.arraycopy(source.array(), offset, buffer.array(), buffer.position(), width);
+        buffer.position(buffer.position() + width);
+    }
+
+    /**
+     * Private Helper Method that writes every buffered byte to the end of
+     * the file and empties the buffer.
+     *
+     * @param channel is the channel to write to
+     * @param buffer  is the write buffer
+     * @throws java.io.IOException if the buffer cannot be written
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Returns the number of runs spilled by the last sort.
+     *
+     * @return the number of runs
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * Returns the number of merge passes of the last sort, including the
+     * one that wrote the output.
+     *
+     * @return the number of merge passes
+     */
+    public int getMergePasses() {
+        return mergePasses;
+    }
+
+    /**
+     * Returns the number of bytes the records and buffers of a sort may
+     * take.
+     *
+     * @return the memory budget in bytes
+     */
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Returns the largest number of runs merged at once.
+     *
+     * @return the fan-in
+     */
+    public int getFanIn() {
+        return fanIn;
+    }
+}
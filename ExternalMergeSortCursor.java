@@ -0,0 +1,148 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Cursor class used for implementing the ExternalMergeSort.
+ *
+ * A cursor streams the records of a file one buffer at a time and points at
+ * the record it is on, so that the merge can keep one cursor per sorted run
+ * in a MinHeap. Records are never decoded: cursors are ordered by the sort
+ * keys of their current records if the codec has them, and otherwise by
+ * comparing their bytes with FixedWidthCodec.compare, and then by the order
+ * of their runs, so records that compare equal come out in the order they
+ * went in.
+ *
+ * @author AKSHAT KARWA
+ */
+public class ExternalMergeSortCursor<T extends Comparable<? super T>>
+        implements Comparable<ExternalMergeSortCursor<T>>, Closeable {
+
+    private final FileChannel channel;
+    private final FixedWidthCodec<T> codec;
+    private final ByteBuffer buffer;
+    private final int order;
+    private final boolean keyed;
+    private int offset;
+    private int current;
+    private long key;
+
+    /**
+     * Constructs a new ExternalMergeSortCursor before the first record of
+     * channel.
+     *
+     * @param channel     the channel to read, from its current position
+     * @param codec       the codec of the records
+     * @param bufferBytes the size of the read buffer, which is rounded down
+     *                    to a whole number of records, but holds at least
+     *                    one
+     * @param order       the order of the run among the runs being merged
+     */
+    ExternalMergeSortCursor(FileChannel channel, FixedWidthCodec<T> codec, int bufferBytes,
+                            int order) {
+        this.channel = channel;
+        this.codec = codec;
+        int width = codec.width();
+        this.buffer = ByteBuffer.allocate(Math.max(1, bufferBytes / width) * width);
+        this.buffer.limit(0);
+        this.order = order;
+        this.keyed = codec.hasSortKey();
+        this.offset = 0;
+        this.current = -1;
+    }
+
+    /**
+     * Moves the cursor to the next record, reading the next buffer if the
+     * current one is done.
+     *
+     * @return true if the cursor is on a record, false if there are no more
+     * records
+     * @throws java.io.IOException if the file cannot be read, or ends in the
+     *                             middle of a record
+     */
+    boolean advance() throws IOException {
+        int width = this.codec.width();
+        if (this.offset + width > this.buffer.limit()) {
+            fill();
+            if (this.buffer.limit() == 0) {
+                this.current = -1;
+                return false;
+            }
+        }
+        this.current = this.offset;
+        this.offset += width;
+        if (this.keyed) {
+            this.key = this.codec.sortKey(this.buffer, this.current);
+        }
+        return true;
+    }
+
+    /**
+     * Private Helper Method that refills the buffer from the file, keeping
+     * the bytes of a record that was cut by the previous read.
+     *
+     * @throws java.io.IOException if the file cannot be read, or ends in the
+     *                             middle of a record
+     */
+    private void fill() throws IOException {
+        this.buffer.position(this.offset);
+        this.buffer.compact();
+        int read = 0;
+        while (this.buffer.hasRemaining() && read >= 0) {
+            read = this.channel.read(this.buffer);
+        }
+        this.buffer.flip();
+        this.offset = 0;
+        if (this.buffer.limit() % this.codec.width() != 0) {
+            throw new EOFException("The file ends in the middle of a record!!");
+        }
+    }
+
+    /**
+     * Gets the buffer holding the record the cursor is on. The buffer is
+     * refilled by advance, so the record must be used before then.
+     *
+     * @return the read buffer
+     */
+    ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Gets the index in the buffer of the first byte of the record the
+     * cursor is on.
+     *
+     * @return the offset of the current record, or -1 if the cursor is not
+     * on a record
+     */
+    int getCurrent() {
+        return current;
+    }
+
+    /**
+     * Compares the current records of two cursors, breaking ties by the
+     * order of their runs.
+     *
+     * @param other the cursor to compare to
+     * @return a negative number, zero or a positive number if the record of
+     * this cursor comes before, together with or after that of other
+     */
+    @Override
+    public int compareTo(ExternalMergeSortCursor<T> other) {
+        int byRecord = this.keyed ? Long.compare(this.key, other.key)
+                : this.codec.compare(this.buffer, this.current, other.buffer, other.current);
+        return (byRecord != 0) ? byRecord : Integer.compare(this.order, other.order);
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws java.io.IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
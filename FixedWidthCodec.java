@@ -0,0 +1,265 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codec used to store keys and values of a fixed number of bytes, for the
+ * structures that keep their data outside of the Java heap.
+ *
+ * Implementations use absolute gets and puts, so they never change the
+ * position of the buffer they are given.
+ *
+ * @author AKSHAT KARWA
+ */
+public interface FixedWidthCodec<T> {
+
+    /**
+     * Codec for Integer, stored in 4 bytes.
+     */
+    FixedWidthCodec<Integer> INTEGER = new FixedWidthCodec<Integer>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer data, ByteBuffer buffer, int offset) {
+            buffer.putInt(offset, data);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+
+        @Override
+        public int compare(ByteBuffer left, int leftOffset, ByteBuffer right, int rightOffset) {
+            return Integer.compare(left.getInt(leftOffset), right.getInt(rightOffset));
+        }
+
+        @Override
+        public boolean hasSortKey() {
+            return true;
+        }
+
+        @Override
+        public long sortKey(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    /**
+     * Codec for Long, stored in 8 bytes.
+     */
+    FixedWidthCodec<Long> LONG = new FixedWidthCodec<Long>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long data, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, data);
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+
+        @Override
+        public int compare(ByteBuffer left, int leftOffset, ByteBuffer right, int rightOffset) {
+            return Long.compare(left.getLong(leftOffset), right.getLong(rightOffset));
+        }
+
+        @Override
+        public boolean hasSortKey() {
+            return true;
+        }
+
+        @Override
+        public long sortKey(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    /**
+     * Codec for Double, stored in 8 bytes.
+     */
+    FixedWidthCodec<Double> DOUBLE = new FixedWidthCodec<Double>() {
+        @Override
+        public int width() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(Double data, ByteBuffer buffer, int offset) {
+            buffer.putDouble(offset, data);
+        }
+
+        @Override
+        public Double decode(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+
+        @Override
+        public int compare(ByteBuffer left, int leftOffset, ByteBuffer right, int rightOffset) {
+            return Double.compare(left.getDouble(leftOffset), right.getDouble(rightOffset));
+        }
+
+        @Override
+        public boolean hasSortKey() {
+            return true;
+        }
+
+        @Override
+        public long sortKey(ByteBuffer buffer, int offset) {
+            // Flipping every bit but the sign of negative numbers gives the
+            // order of Double.compare, with -0.0 before 0.0 and NaN last.
+            long bits = Double.doubleToLongBits(buffer.getDouble(offset));
+            return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        }
+    };
+
+    /**
+     * Returns a codec for Strings whose UTF-8 encoding is at most maxBytes
+     * long. Every String takes 2 + maxBytes bytes: the length of the
+     * encoding followed by the encoding, padded with zeros.
+     *
+     * Encoded Strings are compared byte by byte, which orders them by code
+     * point. String.compareTo orders them by UTF-16 unit instead, which only
+     * differs when a character from U+E000 to U+FFFF meets a supplementary
+     * character, whose surrogates come first in UTF-16. The two then differ
+     * in their first byte in UTF-8, so that case is easy to swap back.
+     *
+     * @param maxBytes the maximum length of the UTF-8 encoding of a String
+     * @return the codec
+     * @throws java.lang.IllegalArgumentException if maxBytes is negative or
+     *                                            more than 65535
+     */
+    static FixedWidthCodec<String> utf8(int maxBytes) {
+        if (maxBytes < 0 || maxBytes > 0xFFFF) {
+            throw new IllegalArgumentException("maxBytes must be between 0 and 65535!!");
+        }
+        return new FixedWidthCodec<String>() {
+            @Override
+            public int width() {
+                return 2 + maxBytes;
+            }
+
+            @Override
+            public void encode(String data, ByteBuffer buffer, int offset) {
+                byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > maxBytes) {
+                    throw new IllegalArgumentException("The String is longer than "
+                            + maxBytes + " bytes!!");
+                }
+                buffer.putShort(offset, (short) bytes.length);
+                for (int i = 0; i < maxBytes; i++) {
+                    buffer.put(offset + 2 + i, (i < bytes.length) ? bytes[i] : 0);
+                }
+            }
+
+            @Override
+            public String decode(ByteBuffer buffer, int offset) {
+                byte[] bytes = new byte[buffer.getShort(offset) & 0xFFFF];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = buffer.get(offset + 2 + i);
+                }
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public int compare(ByteBuffer left, int leftOffset, ByteBuffer right,
+                               int rightOffset) {
+                int leftLength = left.getShort(leftOffset) & 0xFFFF;
+                int rightLength = right.getShort(rightOffset) & 0xFFFF;
+                int length = Math.min(leftLength, rightLength);
+                for (int i = 0; i < length; i++) {
+                    int a = left.get(leftOffset + 2 + i) & 0xFF;
+                    int b = right.get(rightOffset + 2 + i) & 0xFF;
+                    if (a != b) {
+                        if (a >= 0xF0 && (b == 0xEE || b == 0xEF)) {
+                            return -1;
+                        }
+                        if (b >= 0xF0 && (a == 0xEE || a == 0xEF)) {
+                            return 1;
+                        }
+                        return a - b;
+                    }
+                }
+                return leftLength - rightLength;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of bytes every encoded value takes.
+     *
+     * @return the width of an encoded value in bytes
+     */
+    int width();
+
+    /**
+     * Writes data into buffer, starting at offset.
+     *
+     * @param data   the data to write, which is never null
+     * @param buffer the buffer to write to
+     * @param offset the index of the first byte to write
+     */
+    void encode(T data, ByteBuffer buffer, int offset);
+
+    /**
+     * Reads the data stored in buffer, starting at offset.
+     *
+     * @param buffer the buffer to read from
+     * @param offset the index of the first byte to read
+     * @return the data that was read
+     */
+    T decode(ByteBuffer buffer, int offset);
+
+    /**
+     * Compares two encoded records without decoding them, in the same order
+     * as compareTo of the decoded records. The default decodes both records,
+     * so the codec of a Comparable type should override it with a
+     * comparison of the bytes, which is what lets ExternalMergeSort sort and
+     * merge without creating an object per record.
+     *
+     * @param left        the buffer holding the first record
+     * @param leftOffset  the index of the first byte of the first record
+     * @param right       the buffer holding the second record
+     * @param rightOffset the index of the first byte of the second record
+     * @return a negative number, zero or a positive number if the first
+     * record comes before, together with or after the second
+     * @throws java.lang.ClassCastException if T is not Comparable
+     */
+    default int compare(ByteBuffer left, int leftOffset, ByteBuffer right, int rightOffset) {
+        return ((Comparable<? super T>) decode(left, leftOffset))
+                .compareTo(decode(right, rightOffset));
+    }
+
+    /**
+     * Returns whether or not sortKey orders the records. The codecs of
+     * numbers have one, so that ExternalMergeSort can radix sort their runs
+     * and merge them on primitive keys.
+     *
+     * @return true if the codec has a sort key, false otherwise
+     */
+    default boolean hasSortKey() {
+        return false;
+    }
+
+    /**
+     * Returns the sort key of an encoded record: a long whose signed order
+     * is the order of compare, so that two records have the same key if and
+     * only if they compare equal.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the index of the first byte of the record
+     * @return the sort key of the record
+     * @throws java.lang.UnsupportedOperationException if the codec has no
+     *                                                 sort key
+     */
+    default long sortKey(ByteBuffer buffer, int offset) {
+        throw new UnsupportedOperationException("The codec has no sort key!!");
+    }
+}
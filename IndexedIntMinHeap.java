@@ -0,0 +1,350 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+/**
+ * My implementation of an indexed MinHeap of int ids with double
+ * priorities, for graph searches such as Dijkstra and A*.
+ *
+ * Ids go from 0 to capacity - 1, and each id is in the heap at most once.
+ * The heap itself is an int[] of ids with the same d-ary layout as MinHeap,
+ * and two arrays indexed by id hold the priority of every id and its index
+ * in the heap, or 0 if it is not in the heap. Nothing is boxed and no
+ * handles are allocated, and the priority of an id can be changed in
+ * O(log n) time instead of adding the id again.
+ *
+ * @author Akshat Karwa
+ */
+public class IndexedIntMinHeap {
+
+    private final int[] backingArray;
+    private final int[] positions;
+    private final double[] priorities;
+    private final int arity;
+    private int size;
+
+    /**
+     * Constructs a new binary IndexedIntMinHeap for the ids from 0 to
+     * capacity - 1.
+     * We use constructor chaining.
+     *
+     * @param capacity the number of ids
+     */
+    public IndexedIntMinHeap(int capacity) {
+        this(capacity, MinHeap.DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructs a new IndexedIntMinHeap for the ids from 0 to capacity - 1,
+     * where every node has up to arity children.
+     *
+     * @param capacity the number of ids
+     * @param arity    the number of children of every node
+     * @throws java.lang.IllegalArgumentException if capacity is negative or
+     *                                            arity is less than 2
+     */
+    public IndexedIntMinHeap(int capacity, int arity) {
+        if (capacity < 0 || arity < 2) {
+            throw new IllegalArgumentException("The capacity cannot be negative and the arity"
+                    + " must be at least 2!!");
+        }
+        this.backingArray = new int[capacity + 1];
+        this.positions = new int[capacity];
+        this.priorities = new double[capacity];
+        this.arity = arity;
+        this.size = 0;
+    }
+
+    /**
+     * Adds an id to the heap with the given priority.
+     *
+     * @param id       the id to add
+     * @param priority the priority of the id
+     * @throws java.lang.IllegalArgumentException if id is out of range or
+     *                                            already in the heap, or if
+     *                                            priority is NaN
+     */
+    public void add(int id, double priority) {
+        checkId(id);
+        if (this.positions[id] != 0) {
+            throw new IllegalArgumentException("The id is already in the heap!!");
+        }
+        checkPriority(priority);
+        this.priorities[id] = priority;
+        this.size++;
+        upHeap(this.size, id);
+    }
+
+    /**
+     * Removes and returns the id with the smallest priority.
+     *
+     * @return the id that was removed
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    public int remove() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The heap is empty. There is no element to remove!!");
+        }
+        int id = this.backingArray[1];
+        removeAt(1);
+        return id;
+    }
+
+    /**
+     * Removes the given id from the heap.
+     *
+     * @param id the id to remove
+     * @return the priority the id had
+     * @throws java.lang.IllegalArgumentException if id is out of range
+     * @throws java.util.NoSuchElementException   if id is not in the heap
+     */
+    public double remove(int id) {
+        checkContains(id);
+        removeAt(this.positions[id]);
+        return this.priorities[id];
+    }
+
+    /**
+     * Lowers the priority of an id in the heap.
+     *
+     * @param id       the id to update
+     * @param priority the new priority, which is not larger than the current
+     *                 one
+     * @throws java.lang.IllegalArgumentException if id is out of range, or if
+     *                                            priority is NaN or larger
+     *                                            than the current priority
+     * @throws java.util.NoSuchElementException   if id is not in the heap
+     */
+    public void decreaseKey(int id, double priority) {
+        checkContains(id);
+        checkPriority(priority);
+        if (priority > this.priorities[id]) {
+            throw new IllegalArgumentException("The new priority cannot be larger!!");
+        }
+        this.priorities[id] = priority;
+        upHeap(this.positions[id], id);
+    }
+
+    /**
+     * Raises the priority of an id in the heap.
+     *
+     * @param id       the id to update
+     * @param priority the new priority, which is not smaller than the
+     *                 current one
+     * @throws java.lang.IllegalArgumentException if id is out of range, or if
+     *                                            priority is NaN or smaller
+     *                                            than the current priority
+     * @throws java.util.NoSuchElementException   if id is not in the heap
+     */
+    public void increaseKey(int id, double priority) {
+        checkContains(id);
+        checkPriority(priority);
+        if (priority < this.priorities[id]) {
+            throw new IllegalArgumentException("The new priority cannot be smaller!!");
+        }
+        this.priorities[id] = priority;
+        downHeap(this.positions[id], id);
+    }
+
+    /**
+     * Returns whether or not the id is in the heap.
+     *
+     * @param id the id to check
+     * @return true if the id is in the heap, false otherwise
+     * @throws java.lang.IllegalArgumentException if id is out of range
+     */
+    public boolean contains(int id) {
+        checkId(id);
+        return this.positions[id] != 0;
+    }
+
+    /**
+     * Returns the priority of an id in the heap.
+     *
+     * @param id the id
+     * @return the priority of the id
+     * @throws java.lang.IllegalArgumentException if id is out of range
+     * @throws java.util.NoSuchElementException   if id is not in the heap
+     */
+    public double getPriority(int id) {
+        checkContains(id);
+        return this.priorities[id];
+    }
+
+    /**
+     * Private helper method that checks that id is in range.
+     *
+     * @param id is the id to check
+     * @throws java.lang.IllegalArgumentException if id is out of range
+     */
+    private void checkId(int id) {
+        if (id < 0 || id >= this.positions.length) {
+            throw new IllegalArgumentException("The id is out of range!!");
+        }
+    }
+
+    /**
+     * Private helper method that checks that id is in the heap.
+     *
+     * @param id is the id to check
+     * @throws java.lang.IllegalArgumentException if id is out of range
+     * @throws java.util.NoSuchElementException   if id is not in the heap
+     */
+    private void checkContains(int id) {
+        if (!contains(id)) {
+            throw new NoSuchElementException("The id is not in the heap!!");
+        }
+    }
+
+    /**
+     * Private helper method that rejects a NaN priority, which cannot be
+     * ordered.
+     *
+     * @param priority is the priority to check
+     * @throws java.lang.IllegalArgumentException if priority is NaN
+     */
+    private static void checkPriority(double priority) {
+        if (Double.isNaN(priority)) {
+            throw new IllegalArgumentException("The priority cannot be NaN!!");
+        }
+    }
+
+    /**
+     * Private helper method that removes the id at index, fills the hole
+     * with the last id and moves that one up or down as needed.
+     *
+     * @param index is the index of the id to remove
+     */
+    private void removeAt(int index) {
+        int removed = this.backingArray[index];
+        int last = this.backingArray[this.size];
+        this.size--;
+        if (index <= this.size) {
+            if (index > 1 && this.priorities[last] < this.priorities[this.backingArray[parent(index)]]) {
+                upHeap(index, last);
+            } else {
+                downHeap(index, last);
+            }
+        }
+        this.positions[removed] = 0;
+    }
+
+    /**
+     * Private helper method that returns the index of the parent of index.
+     *
+     * @param index is the index of a node other than the root
+     * @return the index of its parent
+     */
+    private int parent(int index) {
+        return (index - 2) / this.arity + 1;
+    }
+
+    /**
+     * Private helper method that moves id down from the hole at index until
+     * no child has a smaller priority, and stores it in the final hole.
+     *
+     * @param index is the index of the hole in the backingArray
+     * @param id    is the id to store
+     */
+    private void downHeap(int index, int id) {
+        double priority = this.priorities[id];
+        int firstChild = this.arity * (index - 1) + 2;
+        while (firstChild <= this.size) {
+            int lastChild = Math.min(firstChild + this.arity - 1, this.size);
+            int child = firstChild;
+            for (int sibling = firstChild + 1; sibling <= lastChild; sibling++) {
+                if (this.priorities[this.backingArray[sibling]] < this.priorities[this.backingArray[child]]) {
+                    child = sibling;
+                }
+            }
+            if (this.priorities[this.backingArray[child]] >= priority) {
+                break;
+            }
+            this.backingArray[index] = this.backingArray[child];
+            this.positions[this.backingArray[index]] = index;
+            index = child;
+            firstChild = this.arity * (index - 1) + 2;
+        }
+        this.backingArray[index] = id;
+        this.positions[id] = index;
+    }
+
+    /**
+     * Private helper method that moves id up from the hole at index until
+     * its parent does not have a larger priority, and stores it in the final
+     * hole.
+     *
+     * @param index is the index of the hole in the backingArray
+     * @param id    is the id to store
+     */
+    private void upHeap(int index, int id) {
+        double priority = this.priorities[id];
+        while (index > 1) {
+            int parent = parent(index);
+            if (priority >= this.priorities[this.backingArray[parent]]) {
+                break;
+            }
+            this.backingArray[index] = this.backingArray[parent];
+            this.positions[this.backingArray[index]] = index;
+            index = parent;
+        }
+        this.backingArray[index] = id;
+        this.positions[id] = index;
+    }
+
+    /**
+     * Returns the id with the smallest priority.
+     *
+     * @return the id with the smallest priority
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    public int getMin() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The heap is empty. There is no element to get!!");
+        }
+        return this.backingArray[1];
+    }
+
+    /**
+     * Returns the smallest priority in the heap.
+     *
+     * @return the priority of the id returned by getMin
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    public double getMinPriority() {
+        return this.priorities[getMin()];
+    }
+
+    /**
+     * Returns whether or not the heap is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return (this.size == 0);
+    }
+
+    /**
+     * Clears the heap in O(capacity) time.
+     */
+    public void clear() {
+        Arrays.fill(this.positions, 0);
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of ids the heap can hold.
+     *
+     * @return the capacity of the heap
+     */
+    public int capacity() {
+        return positions.length;
+    }
+
+    /**
+     * Returns the size of the heap.
+     *
+     * @return the size of the heap
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,311 @@
+import java.util.NoSuchElementException;
+/**
+ * My implementation of an indexed MinHeap.
+ *
+ * It uses the same d-ary layout as MinHeap, but stores an
+ * IndexedMinHeapHandle for every piece of data, and every handle always
+ * knows its index in the backing array. That lets the priority of data
+ * already in the heap be changed, or the data be removed, in O(log n) time
+ * through its handle, instead of adding a duplicate and skipping stale
+ * copies later.
+ *
+ * @author Akshat Karwa
+ */
+public class IndexedMinHeap<T extends Comparable<? super T>> {
+
+    /**
+     * The initial capacity of the IndexedMinHeap when created with the
+     * default constructor.
+     */
+    public static final int INITIAL_CAPACITY = 13;
+
+    private IndexedMinHeapHandle<T>[] backingArray;
+    private int size;
+    private final int arity;
+
+    /**
+     * Constructs a new binary IndexedMinHeap.
+     * We use constructor chaining.
+     */
+    public IndexedMinHeap() {
+        this(MinHeap.DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructs a new IndexedMinHeap where every node has up to arity
+     * children.
+     *
+     * The backing array has an initial capacity of INITIAL_CAPACITY.
+     *
+     * @param arity the number of children of every node
+     * @throws java.lang.IllegalArgumentException if arity is less than 2
+     */
+    public IndexedMinHeap(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("The arity must be at least 2!!");
+        }
+        this.backingArray = new IndexedMinHeapHandle[INITIAL_CAPACITY];
+        this.size = 0;
+        this.arity = arity;
+    }
+
+    /**
+     * Adds an item to the heap. If the backing array is full (except for
+     * index 0), we double its capacity.
+     *
+     * @param data the data to add
+     * @return the handle used to update or remove the data later
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public IndexedMinHeapHandle<T> add(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data to add cannot be null!!");
+        }
+        if (this.size == (this.backingArray.length - 1)) {
+            IndexedMinHeapHandle<T>[] newArray = new IndexedMinHeapHandle[(2 * this.backingArray.length)];
+            System.arraycopy(this.backingArray, 1, newArray, 1, this.size);
+            this.backingArray = newArray;
+        }
+        IndexedMinHeapHandle<T> handle = new IndexedMinHeapHandle<>(this, data);
+        this.size++;
+        upHeap(this.size, handle);
+        return handle;
+    }
+
+    /**
+     * Removes and returns the min item of the heap. Its handle is no longer
+     * in the heap afterwards.
+     *
+     * @return the data that was removed
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    public T remove() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The heap is empty. There is no element to remove!!");
+        }
+        return removeAt(1);
+    }
+
+    /**
+     * Removes the data of handle from the heap.
+     *
+     * @param handle the handle of the data to remove
+     * @return the data that was removed
+     * @throws java.lang.IllegalArgumentException if handle is null
+     * @throws java.util.NoSuchElementException   if the data of handle is not
+     *                                            in the heap
+     */
+    public T remove(IndexedMinHeapHandle<T> handle) {
+        checkHandle(handle);
+        return removeAt(handle.getIndex());
+    }
+
+    /**
+     * Replaces the data of handle with data that is not larger, and moves it
+     * up to keep the order property of the heap.
+     *
+     * @param handle the handle of the data to update
+     * @param data   the new data
+     * @throws java.lang.IllegalArgumentException if handle or data is null,
+     *                                            or if data is larger than
+     *                                            the current data
+     * @throws java.util.NoSuchElementException   if the data of handle is not
+     *                                            in the heap
+     */
+    public void decreaseKey(IndexedMinHeapHandle<T> handle, T data) {
+        checkHandle(handle);
+        if (data == null || data.compareTo(handle.getData()) > 0) {
+            throw new IllegalArgumentException("The new data cannot be null or larger!!");
+        }
+        handle.setData(data);
+        upHeap(handle.getIndex(), handle);
+    }
+
+    /**
+     * Replaces the data of handle with data that is not smaller, and moves
+     * it down to keep the order property of the heap.
+     *
+     * @param handle the handle of the data to update
+     * @param data   the new data
+     * @throws java.lang.IllegalArgumentException if handle or data is null,
+     *                                            or if data is smaller than
+     *                                            the current data
+     * @throws java.util.NoSuchElementException   if the data of handle is not
+     *                                            in the heap
+     */
+    public void increaseKey(IndexedMinHeapHandle<T> handle, T data) {
+        checkHandle(handle);
+        if (data == null || data.compareTo(handle.getData()) < 0) {
+            throw new IllegalArgumentException("The new data cannot be null or smaller!!");
+        }
+        handle.setData(data);
+        downHeap(handle.getIndex(), handle);
+    }
+
+    /**
+     * Returns whether or not the data of handle is in the heap.
+     *
+     * @param handle the handle to check
+     * @return true if the data of handle is in this heap, false otherwise
+     * @throws java.lang.IllegalArgumentException if handle is null
+     */
+    public boolean contains(IndexedMinHeapHandle<T> handle) {
+        if (handle == null) {
+            throw new IllegalArgumentException("The handle cannot be null!!");
+        }
+        return handle.getHeap() == this && handle.getIndex() != 0;
+    }
+
+    /**
+     * Private helper method that checks that the data of handle is in the
+     * heap.
+     *
+     * @param handle is the handle to check
+     * @throws java.lang.IllegalArgumentException if handle is null
+     * @throws java.util.NoSuchElementException   if the data of handle is not
+     *                                            in the heap
+     */
+    private void checkHandle(IndexedMinHeapHandle<T> handle) {
+        if (!contains(handle)) {
+            throw new NoSuchElementException("The handle is not in the heap!!");
+        }
+    }
+
+    /**
+     * Private helper method that removes the handle at index, fills the hole
+     * with the last handle and moves that one up or down as needed.
+     *
+     * @param index is the index of the handle to remove
+     * @return the data of the removed handle
+     */
+    private T removeAt(int index) {
+        IndexedMinHeapHandle<T> removed = this.backingArray[index];
+        IndexedMinHeapHandle<T> last = this.backingArray[this.size];
+        this.backingArray[this.size] = null;
+        this.size--;
+        if (index <= this.size) {
+            if (index > 1 && last.getData().compareTo(this.backingArray[parent(index)].getData()) < 0) {
+                upHeap(index, last);
+            } else {
+                downHeap(index, last);
+            }
+        }
+        removed.setIndex(0);
+        return removed.getData();
+    }
+
+    /**
+     * Private helper method that returns the index of the parent of index.
+     *
+     * @param index is the index of a node other than the root
+     * @return the index of its parent
+     */
+    private int parent(int index) {
+        return (index - 2) / this.arity + 1;
+    }
+
+    /**
+     * Private helper method that moves handle down from the hole at index
+     * until no child is smaller, moving the smallest child up at every
+     * level, and stores it in the final hole.
+     *
+     * @param index  is the index of the hole in the backingArray
+     * @param handle is the handle to store
+     */
+    private void downHeap(int index, IndexedMinHeapHandle<T> handle) {
+        int firstChild = this.arity * (index - 1) + 2;
+        while (firstChild <= this.size) {
+            int lastChild = Math.min(firstChild + this.arity - 1, this.size);
+            int child = firstChild;
+            for (int sibling = firstChild + 1; sibling <= lastChild; sibling++) {
+                if (this.backingArray[sibling].getData().compareTo(this.backingArray[child].getData()) < 0) {
+                    child = sibling;
+                }
+            }
+            if (this.backingArray[child].getData().compareTo(handle.getData()) >= 0) {
+                break;
+            }
+            this.backingArray[index] = this.backingArray[child];
+            this.backingArray[index].setIndex(index);
+            index = child;
+            firstChild = this.arity * (index - 1) + 2;
+        }
+        this.backingArray[index] = handle;
+        handle.setIndex(index);
+    }
+
+    /**
+     * Private helper method that moves handle up from the hole at index
+     * until its parent is not larger, moving larger parents down, and stores
+     * it in the final hole.
+     *
+     * @param index  is the index of the hole in the backingArray
+     * @param handle is the handle to store
+     */
+    private void upHeap(int index, IndexedMinHeapHandle<T> handle) {
+        while (index > 1) {
+            int parent = parent(index);
+            if (handle.getData().compareTo(this.backingArray[parent].getData()) >= 0) {
+                break;
+            }
+            this.backingArray[index] = this.backingArray[parent];
+            this.backingArray[index].setIndex(index);
+            index = parent;
+        }
+        this.backingArray[index] = handle;
+        handle.setIndex(index);
+    }
+
+    /**
+     * Returns the minimum element in the heap.
+     *
+     * @return the minimum element
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    public T getMin() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The heap is empty. There is no element to get!!");
+        }
+        return this.backingArray[1].getData();
+    }
+
+    /**
+     * Returns whether or not the heap is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return (this.size == 0);
+    }
+
+    /**
+     * Clears the heap. Every handle is no longer in the heap afterwards.
+     * Resets the backing array to a new array of the initial capacity and
+     * resets the size.
+     */
+    public void clear() {
+        for (int index = 1; index <= this.size; index++) {
+            this.backingArray[index].setIndex(0);
+        }
+        this.backingArray = new IndexedMinHeapHandle[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of children of every node.
+     *
+     * @return the arity of the heap
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    /**
+     * Returns the size of the heap.
+     *
+     * @return the size of the heap
+     */
+    public int size() {
+        return size;
+    }
+}
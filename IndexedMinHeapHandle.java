@@ -0,0 +1,77 @@
+/**
+ * Handle class used for implementing the IndexedMinHeap.
+ *
+ * A handle is returned when data is added to an IndexedMinHeap, and tracks
+ * where that data is in the backing array of the heap, so that the data can
+ * be updated or removed later without searching for it.
+ *
+ * @author Akshat Karwa
+ */
+public class IndexedMinHeapHandle<T> {
+
+    private final IndexedMinHeap<?> heap;
+    private T data;
+    private int index;
+
+    /**
+     * Constructs a new IndexedMinHeapHandle.
+     *
+     * @param heap the heap the data was added to
+     * @param data the data of this handle
+     */
+    IndexedMinHeapHandle(IndexedMinHeap<?> heap, T data) {
+        this.heap = heap;
+        this.data = data;
+        this.index = 0;
+    }
+
+    /**
+     * Gets the data.
+     *
+     * @return the data
+     */
+    public T getData() {
+        return data;
+    }
+
+    /**
+     * Gets the heap the data was added to.
+     *
+     * @return the heap
+     */
+    IndexedMinHeap<?> getHeap() {
+        return heap;
+    }
+
+    /**
+     * Gets the index of the data in the backing array of the heap.
+     *
+     * @return the index, or 0 if the data is no longer in the heap
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Sets the data.
+     *
+     * @param data the new data
+     */
+    void setData(T data) {
+        this.data = data;
+    }
+
+    /**
+     * Sets the index of the data in the backing array of the heap.
+     *
+     * @param index the new index, or 0 once the data is removed
+     */
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    @Override
+    public String toString() {
+        return "Handle containing: " + data;
+    }
+}
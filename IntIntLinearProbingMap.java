@@ -0,0 +1,340 @@
+import java.util.NoSuchElementException;
+
+/**
+ * My implementation of a LinearProbingHashMap specialized for int keys and
+ * int values.
+ *
+ * Keys and values are kept in parallel int arrays, so a mapping costs no
+ * objects at all. The key 0 is reserved as the sentinel for empty slots, and
+ * a mapping for the key 0 itself is stored outside of the arrays.
+ * Removed slots are filled in by shifting the rest of the cluster backwards,
+ * so no removed markers are ever left in the table.
+ *
+ * @author AKSHAT KARWA
+ */
+public class IntIntLinearProbingMap {
+
+    /**
+     * The initial capacity of the IntIntLinearProbingMap when created with
+     * the default constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The largest power of two that can be used as the length of the
+     * backing arrays.
+     */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The max load factor of the IntIntLinearProbingMap.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.67;
+
+    /**
+     * The key that marks an empty slot in the backing arrays.
+     */
+    public static final int FREE_KEY = 0;
+
+    /**
+     * The value returned by put when the key was not already in the map.
+     */
+    public static final int NO_ENTRY_VALUE = 0;
+
+    private int[] keys;
+    private int[] values;
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+    private int size;
+
+    /**
+     * Constructs a new IntIntLinearProbingMap.
+     * The backing arrays have an initial capacity of INITIAL_CAPACITY.
+     * We use constructor chaining.
+     */
+    public IntIntLinearProbingMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new IntIntLinearProbingMap.
+     * The backing arrays have an initial capacity of initialCapacity rounded
+     * up to the next power of two.
+     * initialCapacity is a non-negative integer.
+     *
+     * @param initialCapacity the initial capacity of the backing arrays
+     */
+    public IntIntLinearProbingMap(int initialCapacity) {
+        int length = tableSizeFor(initialCapacity);
+        this.keys = new int[length];
+        this.values = new int[length];
+        this.size = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If the map already has this
+     * key, we replace its value with the new one passed in.
+     *
+     * In the case of a collision, we use linear probing as our resolution
+     * strategy. Before adding any data, we resize the backing arrays to
+     * 2 * old length if the max load factor would be violated.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return NO_ENTRY_VALUE if the key was not already in the map. If it was
+     * in the map, return the old value associated with it
+     * @throws java.lang.IllegalStateException if the backing arrays are full
+     *                                         and already MAXIMUM_CAPACITY
+     *                                         long
+     */
+    public int put(int key, int value) {
+        if (key == FREE_KEY) {
+            int old = this.hasFreeKey ? this.freeKeyValue : NO_ENTRY_VALUE;
+            if (!this.hasFreeKey) {
+                this.hasFreeKey = true;
+                this.size++;
+            }
+            this.freeKeyValue = value;
+            return old;
+        }
+        if ((this.size + 1) > (MAX_LOAD_FACTOR * this.keys.length)
+                && this.keys.length < MAXIMUM_CAPACITY) {
+            resizeBackingTable(2 * this.keys.length);
+        }
+        int mask = this.keys.length - 1;
+        int index = spread(key) & mask;
+        int counter = 0;
+        while (this.keys[index] != FREE_KEY && counter != this.keys.length) {
+            if (this.keys[index] == key) {
+                int old = this.values[index];
+                this.values[index] = value;
+                return old;
+            }
+            index = (index + 1) & mask;
+            counter++;
+        }
+        if (this.keys[index] != FREE_KEY) {
+            if (this.keys.length == MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("The map is full!!");
+            }
+            resizeBackingTable(2 * this.keys.length);
+            return put(key, value);
+        }
+        this.keys[index] = key;
+        this.values[index] = value;
+        this.size++;
+        return NO_ENTRY_VALUE;
+    }
+
+    /**
+     * Removes the mapping for the given key. The rest of the cluster is
+     * shifted backwards into the freed slot.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public int remove(int key) {
+        if (key == FREE_KEY) {
+            if (!this.hasFreeKey) {
+                throw new NoSuchElementException("The key is not in the map!!");
+            }
+            this.hasFreeKey = false;
+            this.size--;
+            return this.freeKeyValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("The key is not in the map!!");
+        }
+        int removed = this.values[index];
+        shiftBackwards(index);
+        this.size--;
+        return removed;
+    }
+
+    /**
+     * Private Helper Method that empties the slot at index and moves later
+     * entries of the same cluster back so that no probe sequence is broken.
+     *
+     * @param index is the index of the slot to empty
+     */
+    private void shiftBackwards(int index) {
+        int mask = this.keys.length - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        int counter = 1;
+        while (this.keys[next] != FREE_KEY && counter != this.keys.length) {
+            int home = spread(this.keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.keys[hole] = this.keys[next];
+                this.values[hole] = this.values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+            counter++;
+        }
+        this.keys[hole] = FREE_KEY;
+        this.values[hole] = 0;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public int get(int key) {
+        if (key == FREE_KEY) {
+            if (!this.hasFreeKey) {
+                throw new NoSuchElementException("The key is not in the map!!");
+            }
+            return this.freeKeyValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("The key is not in the map!!");
+        }
+        return this.values[index];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     */
+    public boolean containsKey(int key) {
+        if (key == FREE_KEY) {
+            return this.hasFreeKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Private Helper Method that finds the slot holding key.
+     *
+     * @param key is the key to search for, which is not FREE_KEY
+     * @return the index of the key in the backing arrays, or -1 if absent
+     */
+    private int indexOf(int key) {
+        int mask = this.keys.length - 1;
+        int index = spread(key) & mask;
+        int counter = 0;
+        while (this.keys[index] != FREE_KEY && counter != this.keys.length) {
+            if (this.keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+            counter++;
+        }
+        return -1;
+    }
+
+    /**
+     * Resizes the backing arrays to length, rounded up to the next power of
+     * two. Entries are reinserted in order of increasing index.
+     *
+     * @param length new length of the backing arrays
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < this.size) {
+            throw new IllegalArgumentException("Length of HashMap cannot be less"
+                    + "than the number of items!!");
+        }
+        int[] newKeys = new int[tableSizeFor(length)];
+        int[] newValues = new int[newKeys.length];
+        int mask = newKeys.length - 1;
+        for (int i = 0; i < this.keys.length; i++) {
+            int key = this.keys[i];
+            if (key != FREE_KEY) {
+                int index = spread(key) & mask;
+                while (newKeys[index] != FREE_KEY) {
+                    index = (index + 1) & mask;
+                }
+                newKeys[index] = key;
+                newValues[index] = this.values[i];
+            }
+        }
+        this.keys = newKeys;
+        this.values = newValues;
+    }
+
+    /**
+     * Private Helper Method that mixes the bits of a key using the murmur3
+     * fmix32 finalizer.
+     *
+     * @param key is the key to spread.
+     * @return returns the spread key.
+     */
+    private static int spread(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Private Helper Method that returns the smallest power of two greater
+     * than or equal to capacity, clamped to [1, MAXIMUM_CAPACITY].
+     *
+     * @param capacity is the requested capacity.
+     * @return returns the power of two length to use for the backing arrays.
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Clears the map.
+     * Resets the backing arrays to new arrays of the INITIAL_CAPACITY and
+     * resets the size.
+     */
+    public void clear() {
+        this.keys = new int[INITIAL_CAPACITY];
+        this.values = new int[INITIAL_CAPACITY];
+        this.hasFreeKey = false;
+        this.freeKeyValue = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the backing array of keys. Empty slots hold FREE_KEY.
+     *
+     * @return the backing array of keys
+     */
+    public int[] getKeys() {
+        return keys;
+    }
+
+    /**
+     * Returns the backing array of values.
+     *
+     * @return the backing array of values
+     */
+    public int[] getValues() {
+        return values;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+}
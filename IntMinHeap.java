@@ -0,0 +1,186 @@
+import java.util.NoSuchElementException;
+/**
+ * My implementation of a MinHeap of primitive ints.
+ *
+ * It has the same contract as MinHeap, but the data is kept in an int[]
+ * instead of a Comparable[], so nothing is boxed and comparisons are plain
+ * int comparisons instead of calls to compareTo. Index 0 of the backing
+ * array is unused, and the children of index i are 2i and 2i + 1.
+ *
+ * @author Akshat Karwa
+ */
+public class IntMinHeap {
+
+    /**
+     * The initial capacity of the IntMinHeap when created with the default
+     * constructor.
+     */
+    public static final int INITIAL_CAPACITY = 13;
+
+    private int[] backingArray;
+    private int size;
+
+    /**
+     * Constructs a new IntMinHeap.
+     *
+     * The backing array has an initial capacity of INITIAL_CAPACITY.
+     */
+    public IntMinHeap() {
+        this.backingArray = new int[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Creates a properly ordered heap from a set of initial values.
+     * We build the heap from the bottom up by repeated use of downHeap
+     * operations, which takes O(n) time.
+     *
+     * The backingArray has capacity 2n + 1 where n is the length of the
+     * passed in array. Index 0 remains empty, indices 1 to n contain the
+     * data in proper order, and the rest of the indices are empty.
+     *
+     * @param data an array of data to initialize the heap with
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public IntMinHeap(int[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The array of data is null. There is no data to add!");
+        }
+        this.backingArray = new int[(2 * data.length) + 1];
+        System.arraycopy(data, 0, this.backingArray, 1, data.length);
+        this.size = data.length;
+        for (int pIndex = (this.size / 2); pIndex >= 1; pIndex--) {
+            downHeap(pIndex);
+        }
+    }
+
+    /**
+     * Private helper method that moves the data at index down until neither
+     * child is smaller.
+     *
+     * Instead of swapping at every level, the data is held aside and the
+     * smaller child is moved up into the hole, so each level costs one
+     * write.
+     *
+     * @param index is the index of the data in the backingArray
+     */
+    private void downHeap(int index) {
+        int data = this.backingArray[index];
+        int child = 2 * index;
+        while (child <= this.size) {
+            if (child < this.size && this.backingArray[child + 1] < this.backingArray[child]) {
+                child++;
+            }
+            if (this.backingArray[child] >= data) {
+                break;
+            }
+            this.backingArray[index] = this.backingArray[child];
+            index = child;
+            child = 2 * index;
+        }
+        this.backingArray[index] = data;
+    }
+
+    /**
+     * Adds an item to the heap. If the backing array is full (except for
+     * index 0) and we're trying to add a new item, we double its capacity.
+     * The order property of the heap is maintained after adding.
+     *
+     * @param data the data to add
+     */
+    public void add(int data) {
+        if (this.size == (this.backingArray.length - 1)) {
+            int[] newArray = new int[(2 * this.backingArray.length)];
+            System.arraycopy(this.backingArray, 1, newArray, 1, this.size);
+            this.backingArray = newArray;
+        }
+        this.size++;
+        upHeap(this.size, data);
+    }
+
+    /**
+     * Private helper method that moves data up from the hole at index until
+     * its parent is not larger, and stores it there.
+     *
+     * @param index is the index of the hole in the backingArray
+     * @param data  is the data to store
+     */
+    private void upHeap(int index, int data) {
+        while (index > 1 && this.backingArray[index / 2] > data) {
+            this.backingArray[index] = this.backingArray[index / 2];
+            index /= 2;
+        }
+        this.backingArray[index] = data;
+    }
+
+    /**
+     * Removes and returns the min item of the heap. We do not decrease the
+     * capacity of the backing array.
+     * The order property of the heap is maintained after removing.
+     *
+     * @return the data that was removed
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    public int remove() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The heap is empty. There is no element to remove!!");
+        }
+        int removed = this.backingArray[1];
+        this.backingArray[1] = this.backingArray[this.size];
+        this.size--;
+        if (this.size > 1) {
+            downHeap(1);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the minimum element in the heap.
+     *
+     * @return the minimum element
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    public int getMin() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The heap is empty. There is no element to get!!");
+        }
+        return this.backingArray[1];
+    }
+
+    /**
+     * Returns whether or not the heap is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return (this.size == 0);
+    }
+
+    /**
+     * Clears the heap.
+     * Resets the backing array to a new array of the initial capacity and
+     * resets the size.
+     */
+    public void clear() {
+        this.backingArray = new int[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the backing array of the heap.
+     *
+     * @return the backing array of the heap
+     */
+    public int[] getBackingArray() {
+        return backingArray;
+    }
+
+    /**
+     * Returns the size of the heap.
+     *
+     * @return the size of the heap
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -1,8 +1,20 @@
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 /**
  * My implementation of a LinearProbingHashMap.
@@ -15,15 +27,69 @@ public class LinearProbingHashMap<K, V> {
      * The initial capacity of the LinearProbingHashMap when created with the
      * default constructor.
      */
-    public static final int INITIAL_CAPACITY = 13;
+    public static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The largest power of two that can be used as the length of the
+     * backing table.
+     */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
 
     /**
      * The max load factor of the LinearProbingHashMap.
      */
     public static final double MAX_LOAD_FACTOR = 0.67;
 
+    /**
+     * The minimum number of slots of the old table that every put, get,
+     * remove and containsKey migrates while an incremental resize is in
+     * progress.
+     */
+    public static final int MIGRATION_STEP = 16;
+
+    /**
+     * The bit set in a location returned by locate when the key was found in
+     * the old table. Table lengths never exceed MAXIMUM_CAPACITY, so this bit
+     * is never part of an index.
+     */
+    private static final int IN_OLD_TABLE = MAXIMUM_CAPACITY;
+
+    /**
+     * The number of keys whose probes are interleaved by the batch lookups.
+     */
+    public static final int PIPELINE_WIDTH = 8;
+
+    /**
+     * The smallest number of entries for which growing the backing table
+     * rehashes the entries in parallel.
+     */
+    public static final int PARALLEL_RESIZE_THRESHOLD = 1 << 18;
+
+    /**
+     * The smallest number of slots of the new table rehashed by one task of
+     * a parallel resize.
+     */
+    private static final int PARALLEL_RESIZE_RANGE = 1 << 14;
+
+    /**
+     * The Bloom filter is refilled at the earliest after a quarter of the
+     * entries it was sized for has been added since its last refill.
+     */
+    private static final int BLOOM_FILTER_REFILL_DIVISOR = 4;
+
     private LinearProbingHashMapEntry<K, V>[] table;
     private int size;
+    private boolean incrementalResize;
+    private LinearProbingHashMapEntry<K, V>[] oldTable;
+    private int migrationIndex;
+    private int migrationRemaining;
+    private int modCount;
+    private int migrationEpoch;
+    private LinearProbingHashMapStatistics statistics;
+    private BlockedBloomFilter bloomFilter;
+    private BlockedBloomFilter migrationBloomFilter;
+    private double bloomFilterRate;
+    private long bloomFilterRefillAt;
 
     /**
      * Constructs a new LinearProbingHashMap.
@@ -36,13 +102,15 @@ public class LinearProbingHashMap<K, V> {
 
     /**
      * Constructs a new LinearProbingHashMap.
-     * The backing array has an initial capacity of initialCapacity.
+     * The backing array has an initial capacity of initialCapacity rounded
+     * up to the next power of two, so that indices can be computed with a
+     * bit mask instead of a modulo.
      * initialCapacity is a non-negative integer.
      *
      * @param initialCapacity the initial capacity of the backing array
      */
     public LinearProbingHashMap(int initialCapacity) {
-        this.table = new LinearProbingHashMapEntry[initialCapacity];
+        this.table = new LinearProbingHashMapEntry[tableSizeFor(initialCapacity)];
         this.size = 0;
     }
 
@@ -51,16 +119,21 @@ public class LinearProbingHashMap<K, V> {
      * already has this key, we replace the entry's value with the new one
      * passed in.
      *
-     * In the case of a collision, we use linear probing as our resolution
-     * strategy.
+     * In the case of a collision, we use linear probing with the Robin Hood
+     * insertion policy as our resolution strategy.
      *
-     * Before actually adding any data to the HashMap, we check to
-     * see if the array size violates the max load factor if the data were
-     * added. If it does, we trigger a resize before attempting to add the data
-     * or we figure out if it's a duplicate.
+     * Once we know the key is not a duplicate, and before actually adding
+     * the data to the HashMap, we check to see if the array size violates
+     * the max load factor if the data were added. If it does, we trigger a
+     * resize before adding the data. Replacing the value of a key that is
+     * already in the map never resizes, so it is not a structural
+     * modification.
      *
      * When regrowing, we resize the length of the backing table to
-     * 2 * old length + 1. We use the resizeBackingTable method to do so.
+     * 2 * old length, which keeps the length a power of two. We use the
+     * resizeBackingTable method to do so, unless incremental resizing is
+     * enabled, in which case the entries are migrated a few slots at a time
+     * by the following operations.
      *
      * Returns null if the key was not already in the map. If it was in the map,
      * returns the old value associated with it.
@@ -76,56 +149,379 @@ public class LinearProbingHashMap<K, V> {
             throw new IllegalArgumentException("Key or value is null!!"
                     + " None of them can be null!!");
         }
-        LinearProbingHashMapEntry<K, V> entry = new LinearProbingHashMapEntry<>(key, value);
-        if ((((this.size + 1) * 100) / this.table.length) > (MAX_LOAD_FACTOR * 100)) {
-            resizeBackingTable((2 * this.table.length) + 1);
-        }
-        int index = absoluteValue((key.hashCode() % this.table.length));
-        int counter = 0;
-        int indexOfFirstDeletedItem = 0;
-        boolean foundDeletedItem = false;
-        while (this.table[index] != null && counter != this.table.length) {
-            if (this.table[index].isRemoved()) {
-                if (!foundDeletedItem) {
-                    indexOfFirstDeletedItem = index;
-                    foundDeletedItem = true;
-                }
+        if (this.oldTable != null) {
+            migrateStep();
+        }
+        int hash = spread(key.hashCode());
+        int location = locate(key, hash);
+        if (location >= 0) {
+            LinearProbingHashMapEntry<K, V> entry = entryAt(location);
+            V val = entry.getValue();
+            entry.setValue(value);
+            return val;
+        }
+        insertNew(location, key, value, hash);
+        return null;
+    }
+
+    /**
+     * Private Helper Method that grows the backing table if adding one more
+     * entry would violate the max load factor.
+     *
+     * @return true if the table grew, false otherwise
+     */
+    private boolean growIfNeeded() {
+        if ((this.size + 1) > (MAX_LOAD_FACTOR * this.table.length)
+                && this.table.length < MAXIMUM_CAPACITY) {
+            if (this.incrementalResize) {
+                startMigration(2 * this.table.length);
             } else {
-                if (this.table[index].getKey().equals(key)) {
-                    V val = this.table[index].getValue();
-                    this.table[index].setValue(value);
-                    return val;
-                }
+                resizeBackingTable(2 * this.table.length);
             }
-            index = ((index + 1) % this.table.length);
-            counter++;
+            return true;
         }
-        if (foundDeletedItem) {
-            this.table[indexOfFirstDeletedItem] = entry;
+        return false;
+    }
+
+    /**
+     * Private Helper Method that resolves key with a single probe of each
+     * table.
+     *
+     * @param key  is the key to search for
+     * @param hash is the spread hashcode of key
+     * @return the index of the key in the table if it is there, the index of
+     * the key in the old table with the IN_OLD_TABLE bit set if it is there,
+     * or the negative value returned by probe on the table if the key is not
+     * in the map
+     */
+    private int locate(Object key, int hash) {
+        int index = resolve(key, hash);
+        if (this.statistics != null) {
+            recordProbe(index, hash);
+        }
+        return index;
+    }
+
+    /**
+     * Private Helper Method that resolves key like locate, without recording
+     * the probe in the statistics. Used to resolve a key again once entries
+     * have been migrated since it was located.
+     *
+     * @param key  is the key to search for
+     * @param hash is the spread hashcode of key
+     * @return the location of the key, as returned by locate
+     */
+    private int resolve(Object key, int hash) {
+        int index = probe(this.table, key, hash);
+        if (index < 0 && this.oldTable != null) {
+            int oldIndex = probe(this.oldTable, key, hash);
+            if (oldIndex >= 0) {
+                index = oldIndex | IN_OLD_TABLE;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Private Helper Method that records the probe length of a location
+     * returned by locate in the statistics.
+     *
+     * The probe length is the number of slots inspected in the table the key
+     * was resolved in, which is the probe distance of the entry plus one for
+     * a hit, and the distance from the home index to the insertion point plus
+     * one for a miss.
+     *
+     * @param location is the location returned by locate
+     * @param hash     is the spread hashcode of the key
+     */
+    private void recordProbe(int location, int hash) {
+        if (location >= 0) {
+            LinearProbingHashMapEntry<K, V>[] tab = ((location & IN_OLD_TABLE) != 0)
+                    ? this.oldTable : this.table;
+            int index = location & ~IN_OLD_TABLE;
+            this.statistics.recordHit(probeDistance(tab[index], index, tab.length - 1) + 1);
+        } else {
+            int mask = this.table.length - 1;
+            this.statistics.recordMiss((-(location + 1) - (hash & mask) & mask) + 1);
+        }
+    }
+
+    /**
+     * Private Helper Method that returns the entry at a non-negative location
+     * returned by locate.
+     *
+     * @param location is the location of the entry
+     * @return the entry at location
+     */
+    private LinearProbingHashMapEntry<K, V> entryAt(int location) {
+        if ((location & IN_OLD_TABLE) != 0) {
+            return this.oldTable[location & ~IN_OLD_TABLE];
+        }
+        return this.table[location];
+    }
+
+    /**
+     * Private Helper Method that removes the entry at a non-negative location
+     * returned by locate.
+     *
+     * @param location is the location of the entry
+     */
+    private void removeAt(int location) {
+        if ((location & IN_OLD_TABLE) != 0) {
+            shiftBackwards(this.oldTable, location & ~IN_OLD_TABLE);
         } else {
-            this.table[index] = entry;
+            shiftBackwards(this.table, location);
         }
+        this.size--;
+        this.modCount++;
+    }
+
+    /**
+     * Private Helper Method that adds a new entry at the insertion point of
+     * a negative location returned by locate.
+     *
+     * The table is only grown here, once the key is known to be new, so
+     * replacing the value of a key that is already in the map never
+     * resizes the table.
+     *
+     * @param location is the negative location returned by locate
+     * @param key      is the key of the new entry
+     * @param value    is the value of the new entry
+     * @param hash     is the spread hashcode of key
+     */
+    private void insertNew(int location, K key, V value, int hash) {
+        if (growIfNeeded()) {
+            location = probe(this.table, key, hash);
+        }
+        insertAt(this.table, -(location + 1), new LinearProbingHashMapEntry<>(key, value, hash));
         this.size++;
-        return null;
+        this.modCount++;
+        if (this.bloomFilter != null) {
+            this.bloomFilter.add(hash);
+            if (this.migrationBloomFilter != null) {
+                this.migrationBloomFilter.add(hash);
+            } else if (this.bloomFilter.getAdditions() > this.bloomFilterRefillAt) {
+                refillBloomFilter();
+            }
+        }
+    }
+
+    /**
+     * Private Helper Method that starts an incremental resize to length.
+     *
+     * The current table becomes the old table and a new empty table of
+     * length is allocated. Migration starts at an empty slot of the old
+     * table, and every migration step stops only right before an empty slot,
+     * so a cluster of the old table is always either fully migrated or not
+     * migrated at all. That way, a lookup in the old table never sees a
+     * cluster with a hole in it.
+     *
+     * @param length is the length of the new table
+     */
+    private void startMigration(int length) {
+        if (this.oldTable != null) {
+            finishMigration();
+        }
+        LinearProbingHashMapEntry<K, V>[] newTable = new LinearProbingHashMapEntry[tableSizeFor(length)];
+        int start = 0;
+        while (start < this.table.length && this.table[start] != null) {
+            start++;
+        }
+        if (start == this.table.length) {
+            resizeBackingTable(length);
+            return;
+        }
+        this.oldTable = this.table;
+        this.table = newTable;
+        this.migrationIndex = start;
+        this.migrationRemaining = this.oldTable.length;
+        this.migrationEpoch++;
+        if (this.bloomFilter != null) {
+            this.migrationBloomFilter = newBloomFilter(newTable.length);
+        }
+        if (this.statistics != null) {
+            this.statistics.recordResize(0);
+        }
+    }
+
+    /**
+     * Private Helper Method that migrates at least MIGRATION_STEP slots of
+     * the old table into the new table, continuing until the end of the
+     * cluster it is in. Once every slot has been visited, the old table is
+     * dropped.
+     *
+     * If the Bloom filter is enabled, the migrated entries are also added to
+     * a new filter sized for the new table. The old filter keeps answering
+     * lookups until the migration is done, and is then replaced.
+     */
+    private void migrateStep() {
+        long start = (this.statistics != null) ? System.nanoTime() : 0;
+        int mask = this.oldTable.length - 1;
+        int migrated = 0;
+        while (this.migrationRemaining > 0
+                && (migrated < MIGRATION_STEP || this.oldTable[this.migrationIndex] != null)) {
+            LinearProbingHashMapEntry<K, V> entry = this.oldTable[this.migrationIndex];
+            if (entry != null) {
+                this.oldTable[this.migrationIndex] = null;
+                insertAt(this.table, entry.getHash() & (this.table.length - 1), entry);
+                if (this.migrationBloomFilter != null) {
+                    this.migrationBloomFilter.add(entry.getHash());
+                }
+            }
+            this.migrationIndex = ((this.migrationIndex + 1) & mask);
+            this.migrationRemaining--;
+            migrated++;
+        }
+        if (this.migrationRemaining == 0) {
+            this.oldTable = null;
+            if (this.migrationBloomFilter != null) {
+                this.bloomFilter = this.migrationBloomFilter;
+                this.migrationBloomFilter = null;
+                scheduleBloomFilterRefill();
+            }
+        }
+        this.migrationEpoch++;
+        if (this.statistics != null) {
+            this.statistics.recordMigration(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Private Helper Method that migrates everything left in the old table,
+     * if an incremental resize is in progress.
+     */
+    private void finishMigration() {
+        while (this.oldTable != null) {
+            migrateStep();
+        }
     }
 
     /**
-     * Private Helper Method to calculate the absolute value
-     * of the compressed keyHashcode.
+     * Private Helper Method that searches tab for key using Robin Hood
+     * probing.
      *
-     * @param keyHashcode is the compressed integer hashcode value of the key.
-     * @return returns the absolute value of the compressed keyHashcode.
+     * We walk the cluster starting at the home index of the key. Since every
+     * entry is kept at least as close to its home index as the entries it
+     * displaced, we can stop as soon as we reach an empty slot or an entry
+     * that is closer to its home index than we are to ours. The cached hash
+     * of every entry is compared before calling equals.
+     *
+     * @param tab  is the backing table to search
+     * @param key  is the key to search for
+     * @param hash is the spread hashcode of key
+     * @return the index of the key if it is in tab, otherwise -(i + 1)
+     * where i is the index at which the key would be inserted
      */
-    private int absoluteValue(int keyHashcode) {
-        if (keyHashcode < 0) {
-            return (-1 * keyHashcode);
+    private int probe(LinearProbingHashMapEntry<K, V>[] tab, Object key, int hash) {
+        int mask = tab.length - 1;
+        int index = hash & mask;
+        int distance = 0;
+        while (tab[index] != null && distance < tab.length) {
+            if (probeDistance(tab[index], index, mask) < distance) {
+                break;
+            }
+            if (tab[index].getHash() == hash && tab[index].getKey().equals(key)) {
+                return index;
+            }
+            index = ((index + 1) & mask);
+            distance++;
         }
-        return keyHashcode;
+        return -(index + 1);
+    }
+
+    /**
+     * Private Helper Method that inserts entry into tab using Robin Hood
+     * insertion, starting at index.
+     *
+     * Whenever the entry being carried is further from its home index than
+     * the entry occupying the slot, the two are swapped and we continue
+     * carrying the displaced entry. This keeps the variance of probe lengths
+     * low.
+     *
+     * @param tab   is the backing table to insert into
+     * @param index is the index at which to start inserting, which must not
+     *              be past the slot returned by probe
+     * @param entry is the entry to insert, whose key is not already in tab
+     */
+    private void insertAt(LinearProbingHashMapEntry<K, V>[] tab, int index,
+                          LinearProbingHashMapEntry<K, V> entry) {
+        int mask = tab.length - 1;
+        LinearProbingHashMapEntry<K, V> carried = entry;
+        int distance = probeDistance(carried, index, mask);
+        while (tab[index] != null) {
+            int occupantDistance = probeDistance(tab[index], index, mask);
+            if (occupantDistance < distance) {
+                LinearProbingHashMapEntry<K, V> temp = tab[index];
+                tab[index] = carried;
+                carried = temp;
+                distance = occupantDistance;
+            }
+            index = ((index + 1) & mask);
+            distance++;
+        }
+        tab[index] = carried;
+    }
+
+    /**
+     * Private Helper Method that returns how far the entry at index is from
+     * its home index.
+     *
+     * @param entry is the entry stored at index
+     * @param index is the index of the entry in the table
+     * @param mask  is the length of the table minus one
+     * @return the number of probes between the home index and index
+     */
+    private static int probeDistance(LinearProbingHashMapEntry<?, ?> entry, int index, int mask) {
+        return (index - entry.getHash()) & mask;
+    }
+
+    /**
+     * Helper Method that mixes the bits of a hashcode using the murmur3
+     * fmix32 finalizer.
+     *
+     * Indices are the spread hashcode masked by the length of the table, a
+     * power of two. Spreading makes clustered hashcodes (e.g. sequential
+     * Integer keys) land far apart and lets every bit of the hashcode affect
+     * the low bits used by the mask. Masking never yields a negative index,
+     * so there is no absolute value edge case for Integer.MIN_VALUE.
+     *
+     * @param keyHashcode is the raw integer hashcode value of the key.
+     * @return returns the spread hashcode.
+     */
+    static int spread(int keyHashcode) {
+        int h = keyHashcode;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
     }
 
     /**
-     * Removes the entry with a matching key from map by marking the entry as
-     * removed.
+     * Private Helper Method that returns the smallest power of two greater
+     * than or equal to capacity, clamped to [1, MAXIMUM_CAPACITY].
+     *
+     * @param capacity is the requested capacity.
+     * @return returns the power of two length to use for the backing table.
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Removes the entry with a matching key from map.
+     *
+     * Instead of leaving a removed marker behind, we shift the following
+     * entries of the cluster back by one slot until we reach an empty slot
+     * or an entry that is already at its home index. This is backward-shift
+     * deletion, so no tombstones ever accumulate in the table.
      *
      * @param key the key to remove
      * @return the value previously associated with the key
@@ -136,27 +532,40 @@ public class LinearProbingHashMap<K, V> {
         if (key == null) {
             throw new IllegalArgumentException("The key cannot be null!!");
         }
-        int index = absoluteValue((key.hashCode() % this.table.length));
-        int counter = 0;
-        V removed = null;
-        while (this.table[index] != null && counter != this.table.length) {
-            if (!this.table[index].isRemoved()) {
-                if (this.table[index].getKey().equals(key)) {
-                    removed = this.table[index].getValue();
-                    this.table[index].setRemoved(true);
-                    break;
-                }
-            }
-            index = ((index + 1) % this.table.length);
-            counter++;
+        if (this.oldTable != null) {
+            migrateStep();
         }
-        if (removed == null) {
+        int hash = spread(key.hashCode());
+        int location = locate(key, hash);
+        if (location < 0) {
             throw new NoSuchElementException("The key is not in the map!!");
         }
-        this.size--;
+        V removed = entryAt(location).getValue();
+        removeAt(location);
+        if (this.statistics != null) {
+            this.statistics.recordRemoval();
+        }
         return removed;
     }
 
+    /**
+     * Private Helper Method that empties the slot at index and shifts the
+     * rest of the cluster back by one slot.
+     *
+     * @param tab   is the backing table to remove from
+     * @param index is the index of the entry to remove
+     */
+    private void shiftBackwards(LinearProbingHashMapEntry<K, V>[] tab, int index) {
+        int mask = tab.length - 1;
+        int next = ((index + 1) & mask);
+        while (tab[next] != null && probeDistance(tab[next], next, mask) > 0) {
+            tab[index] = tab[next];
+            index = next;
+            next = ((next + 1) & mask);
+        }
+        tab[index] = null;
+    }
+
     /**
      * Gets the value associated with the given key.
      *
@@ -169,23 +578,11 @@ public class LinearProbingHashMap<K, V> {
         if (key == null) {
             throw new IllegalArgumentException("The key cannot be null!!");
         }
-        int index = absoluteValue((key.hashCode() % this.table.length));
-        int counter = 0;
-        V val = null;
-        while (this.table[index] != null && counter != this.table.length) {
-            if (!this.table[index].isRemoved()) {
-                if (this.table[index].getKey().equals(key)) {
-                    val = this.table[index].getValue();
-                    break;
-                }
-            }
-            index = ((index + 1) % this.table.length);
-            counter++;
-        }
-        if (val == null) {
+        LinearProbingHashMapEntry<K, V> entry = find(key);
+        if (entry == null) {
             throw new NoSuchElementException("The key is not in the map!!");
         }
-        return val;
+        return entry.getValue();
     }
 
     /**
@@ -200,20 +597,426 @@ public class LinearProbingHashMap<K, V> {
         if (key == null) {
             throw new IllegalArgumentException("Key cannot be null!!");
         }
-        int index = absoluteValue((key.hashCode() % this.table.length));
-        int counter = 0;
-        boolean check = false;
-        while (this.table[index] != null && counter != this.table.length) {
-            if (!this.table[index].isRemoved()) {
-                if (this.table[index].getKey().equals(key)) {
-                    check = true;
-                    break;
+        return find(key) != null;
+    }
+
+    /**
+     * Private Helper Method that performs a migration step if an incremental
+     * resize is in progress, and then looks key up in the new table and, if
+     * it is not there, in the old table.
+     *
+     * If the Bloom filter is enabled, it is tested first, and a key it has
+     * never seen is reported missing without probing the table at all.
+     *
+     * @param key is the key to search for
+     * @return the entry holding key, or null if the key is not in the map
+     */
+    private LinearProbingHashMapEntry<K, V> find(K key) {
+        if (this.oldTable != null) {
+            migrateStep();
+        }
+        int hash = spread(key.hashCode());
+        if (this.bloomFilter != null && !this.bloomFilter.mightContain(hash)) {
+            return null;
+        }
+        int location = locate(key, hash);
+        return (location >= 0) ? entryAt(location) : null;
+    }
+
+    /**
+     * Returns the value associated with the given key, or defaultValue if
+     * the key is not in the map. Unlike get, a miss does not throw.
+     *
+     * @param key          the key to search for in the map
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value associated with the given key, or defaultValue
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key cannot be null!!");
+        }
+        LinearProbingHashMapEntry<K, V> entry = find(key);
+        return (entry == null) ? defaultValue : entry.getValue();
+    }
+
+    /**
+     * Adds the given key-value pair to the map only if the key is not
+     * already in it. The key is resolved with a single probe, which is also
+     * where the new entry is inserted.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the value associated with it, which is left unchanged
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V putIfAbsent(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key or value is null!!"
+                    + " None of them can be null!!");
+        }
+        if (this.oldTable != null) {
+            migrateStep();
+        }
+        int hash = spread(key.hashCode());
+        int location = locate(key, hash);
+        if (location >= 0) {
+            return entryAt(location).getValue();
+        }
+        insertNew(location, key, value, hash);
+        return null;
+    }
+
+    /**
+     * If the key is not in the map, computes its value with the given
+     * function and adds it, unless the function returns null. The key is
+     * resolved with a single probe.
+     *
+     * @param key             the key to search for in the map
+     * @param mappingFunction the function computing the value of an absent
+     *                        key
+     * @return the value associated with the key after the call, or null if
+     * the key was absent and the function returned null
+     * @throws java.lang.IllegalArgumentException        if key or
+     *                                                   mappingFunction is
+     *                                                   null
+     * @throws java.util.ConcurrentModificationException if the function
+     *                                                   modifies the map
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null || mappingFunction == null) {
+            throw new IllegalArgumentException("Key or function is null!!"
+                    + " None of them can be null!!");
+        }
+        if (this.oldTable != null) {
+            migrateStep();
+        }
+        int hash = spread(key.hashCode());
+        int location = locate(key, hash);
+        if (location >= 0) {
+            return entryAt(location).getValue();
+        }
+        int expectedModCount = this.modCount;
+        int expectedEpoch = this.migrationEpoch;
+        V value = mappingFunction.apply(key);
+        location = revalidate(location, key, hash, expectedModCount, expectedEpoch);
+        if (value != null) {
+            insertNew(location, key, value, hash);
+        }
+        return value;
+    }
+
+    /**
+     * If the key is in the map, computes its new value with the given
+     * function from the key and its current value. If the function returns
+     * null, the key is removed. The key is resolved with a single probe.
+     *
+     * @param key               the key to search for in the map
+     * @param remappingFunction the function computing the new value
+     * @return the new value associated with the key, or null if the key is
+     * absent or was removed
+     * @throws java.lang.IllegalArgumentException        if key or
+     *                                                   remappingFunction is
+     *                                                   null
+     * @throws java.util.ConcurrentModificationException if the function
+     *                                                   modifies the map
+     */
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (key == null || remappingFunction == null) {
+            throw new IllegalArgumentException("Key or function is null!!"
+                    + " None of them can be null!!");
+        }
+        if (this.oldTable != null) {
+            migrateStep();
+        }
+        int hash = spread(key.hashCode());
+        int location = locate(key, hash);
+        if (location < 0) {
+            return null;
+        }
+        LinearProbingHashMapEntry<K, V> entry = entryAt(location);
+        int expectedModCount = this.modCount;
+        int expectedEpoch = this.migrationEpoch;
+        V value = remappingFunction.apply(key, entry.getValue());
+        location = revalidate(location, key, hash, expectedModCount, expectedEpoch);
+        if (value == null) {
+            removeAt(location);
+        } else {
+            entry.setValue(value);
+        }
+        return value;
+    }
+
+    /**
+     * If the key is not in the map, adds it with the given value. Otherwise,
+     * replaces its value with the result of the given function applied to
+     * the current value and the given value, or removes the key if the
+     * function returns null. The key is resolved with a single probe, which
+     * makes counting and aggregating a single probe per update.
+     *
+     * @param key               the key to merge
+     * @param value             the value to add, or to merge with the
+     *                          current value
+     * @param remappingFunction the function merging the current value with
+     *                          value
+     * @return the new value associated with the key, or null if it was
+     * removed
+     * @throws java.lang.IllegalArgumentException        if key, value or
+     *                                                   remappingFunction is
+     *                                                   null
+     * @throws java.util.ConcurrentModificationException if the function
+     *                                                   modifies the map
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null || value == null || remappingFunction == null) {
+            throw new IllegalArgumentException("Key, value or function is null!!"
+                    + " None of them can be null!!");
+        }
+        if (this.oldTable != null) {
+            migrateStep();
+        }
+        int hash = spread(key.hashCode());
+        int location = locate(key, hash);
+        if (location < 0) {
+            insertNew(location, key, value, hash);
+            return value;
+        }
+        LinearProbingHashMapEntry<K, V> entry = entryAt(location);
+        int expectedModCount = this.modCount;
+        int expectedEpoch = this.migrationEpoch;
+        V merged = remappingFunction.apply(entry.getValue(), value);
+        location = revalidate(location, key, hash, expectedModCount, expectedEpoch);
+        if (merged == null) {
+            removeAt(location);
+        } else {
+            entry.setValue(merged);
+        }
+        return merged;
+    }
+
+    /**
+     * Private Helper Method that checks a location resolved before calling a
+     * function passed to one of the compute methods.
+     *
+     * If the function structurally modified the map, the location cannot be
+     * trusted, so we throw. If it only read the map, those reads may still
+     * have migrated entries of an incremental resize, which moves entries
+     * without changing what the map holds, so the key is resolved again.
+     *
+     * @param location         is the location resolved before the call
+     * @param key              is the key the location was resolved for
+     * @param hash             is the spread hashcode of key
+     * @param expectedModCount is the modCount before the function was called
+     * @param expectedEpoch    is the migration epoch before the function was
+     *                         called
+     * @return the current location of key
+     * @throws java.util.ConcurrentModificationException if the function
+     *                                                   modified the map
+     */
+    private int revalidate(int location, K key, int hash, int expectedModCount,
+                           int expectedEpoch) {
+        if (this.modCount != expectedModCount) {
+            throw new ConcurrentModificationException("The map was modified by the function!!");
+        }
+        return (this.migrationEpoch != expectedEpoch) ? resolve(key, hash) : location;
+    }
+
+    /**
+     * Resizes the backing table once, if needed, so that expectedSize
+     * entries fit without violating the max load factor. Adding up to
+     * expectedSize entries afterwards never triggers a resize.
+     *
+     * @param expectedSize the number of entries the map should hold
+     * @throws java.lang.IllegalArgumentException if expectedSize is negative
+     */
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("The expected size cannot be negative!!");
+        }
+        int length = tableSizeFor((int) Math.min(MAXIMUM_CAPACITY,
+                Math.ceil(expectedSize / MAX_LOAD_FACTOR)));
+        while (expectedSize > (MAX_LOAD_FACTOR * length) && length < MAXIMUM_CAPACITY) {
+            length *= 2;
+        }
+        if (length > this.table.length) {
+            resizeBackingTable(length);
+        }
+    }
+
+    /**
+     * Adds every key-value pair keys[i], values[i] to the map, as if by put.
+     *
+     * Every pair is checked before anything is added, so a null key or value
+     * leaves the map unchanged. The hashcodes of all keys are computed first,
+     * and the table is presized once for all of them, so the inserts never
+     * resize in between.
+     *
+     * @param keys   the keys to add
+     * @param values the values to add, in the same order as keys
+     * @throws java.lang.IllegalArgumentException if the arrays are null, have
+     *                                            different lengths, or hold
+     *                                            a null element
+     */
+    public void putAll(K[] keys, V[] values) {
+        if (keys == null || values == null || keys.length != values.length) {
+            throw new IllegalArgumentException("The keys and values must be non-null"
+                    + " arrays of the same length!!");
+        }
+        int[] hashes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null || values[i] == null) {
+                throw new IllegalArgumentException("Key or value is null!!"
+                        + " None of them can be null!!");
+            }
+            hashes[i] = spread(keys[i].hashCode());
+        }
+        ensureCapacity((int) Math.min(MAXIMUM_CAPACITY, (long) this.size + keys.length));
+        for (int i = 0; i < keys.length; i++) {
+            int location = locate(keys[i], hashes[i]);
+            if (location >= 0) {
+                entryAt(location).setValue(values[i]);
+            } else {
+                insertNew(location, keys[i], values[i], hashes[i]);
+            }
+        }
+    }
+
+    /**
+     * Looks up every key of keys and stores its value at the same index of
+     * results, or null if the key is not in the map. A miss does not throw.
+     *
+     * The probes of PIPELINE_WIDTH keys are interleaved: each round advances
+     * every pending probe by one slot, so the cache misses of independent
+     * keys overlap instead of being taken one after another.
+     *
+     * @param keys    the keys to search for
+     * @param results the array to store the values in, at least as long as
+     *                keys
+     * @throws java.lang.IllegalArgumentException if an array is null, results
+     *                                            is too short, or keys holds
+     *                                            null
+     */
+    public void getAll(K[] keys, V[] results) {
+        if (keys == null || results == null || results.length < keys.length) {
+            throw new IllegalArgumentException("The keys and results must be non-null"
+                    + " and results must be at least as long as keys!!");
+        }
+        int[] locations = locateAll(keys);
+        for (int i = 0; i < keys.length; i++) {
+            results[i] = (locations[i] >= 0) ? entryAt(locations[i]).getValue() : null;
+        }
+    }
+
+    /**
+     * Looks up every key of keys and sets bit i of results if keys[i] is in
+     * the map, or clears it otherwise. The probes are interleaved as in
+     * getAll.
+     *
+     * @param keys    the keys to search for
+     * @param results the bitset to store the answers in
+     * @throws java.lang.IllegalArgumentException if keys or results is null,
+     *                                            or keys holds null
+     */
+    public void containsAll(K[] keys, BitSet results) {
+        if (keys == null || results == null) {
+            throw new IllegalArgumentException("The keys and results cannot be null!!");
+        }
+        int[] locations = locateAll(keys);
+        for (int i = 0; i < keys.length; i++) {
+            results.set(i, locations[i] >= 0);
+        }
+    }
+
+    /**
+     * Private Helper Method that resolves a batch of keys with interleaved
+     * probes.
+     *
+     * First, the hashcodes of all keys are computed. Then, up to
+     * PIPELINE_WIDTH probes of the table are in flight at once. Every round
+     * advances each of them by one slot, and a finished probe is replaced by
+     * the probe of the next key right away. Keys missing from the table are
+     * then looked up in the old table, if an incremental resize is in
+     * progress.
+     *
+     * @param keys is the batch of keys to resolve
+     * @return the location of every key, as returned by locate
+     * @throws java.lang.IllegalArgumentException if keys holds null
+     */
+    private int[] locateAll(K[] keys) {
+        int[] hashes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                throw new IllegalArgumentException("The key cannot be null!!");
+            }
+            hashes[i] = spread(keys[i].hashCode());
+        }
+        if (this.oldTable != null) {
+            migrateStep();
+        }
+        LinearProbingHashMapEntry<K, V>[] tab = this.table;
+        int mask = tab.length - 1;
+        int[] locations = new int[keys.length];
+        int[] laneKey = new int[PIPELINE_WIDTH];
+        int[] laneIndex = new int[PIPELINE_WIDTH];
+        int[] laneDistance = new int[PIPELINE_WIDTH];
+        int lanes = 0;
+        int next = 0;
+        while (lanes < PIPELINE_WIDTH && next < keys.length) {
+            laneKey[lanes] = next;
+            laneIndex[lanes] = hashes[next] & mask;
+            laneDistance[lanes] = 0;
+            lanes++;
+            next++;
+        }
+        while (lanes > 0) {
+            for (int lane = 0; lane < lanes; lane++) {
+                int key = laneKey[lane];
+                int index = laneIndex[lane];
+                LinearProbingHashMapEntry<K, V> entry = tab[index];
+                boolean done = true;
+                if (entry == null || probeDistance(entry, index, mask) < laneDistance[lane]
+                        || laneDistance[lane] >= tab.length) {
+                    locations[key] = -(index + 1);
+                } else if (entry.getHash() == hashes[key] && entry.getKey().equals(keys[key])) {
+                    locations[key] = index;
+                } else {
+                    laneIndex[lane] = ((index + 1) & mask);
+                    laneDistance[lane]++;
+                    done = false;
+                }
+                if (done) {
+                    if (next < keys.length) {
+                        laneKey[lane] = next;
+                        laneIndex[lane] = hashes[next] & mask;
+                        laneDistance[lane] = 0;
+                        next++;
+                    } else {
+                        lanes--;
+                        laneKey[lane] = laneKey[lanes];
+                        laneIndex[lane] = laneIndex[lanes];
+                        laneDistance[lane] = laneDistance[lanes];
+                        lane--;
+                    }
                 }
             }
-            index = ((index + 1) % this.table.length);
-            counter++;
         }
-        return check;
+        if (this.oldTable != null) {
+            for (int i = 0; i < keys.length; i++) {
+                if (locations[i] < 0) {
+                    int oldIndex = probe(this.oldTable, keys[i], hashes[i]);
+                    if (oldIndex >= 0) {
+                        locations[i] = oldIndex | IN_OLD_TABLE;
+                    }
+                }
+            }
+        }
+        if (this.statistics != null) {
+            for (int i = 0; i < keys.length; i++) {
+                recordProbe(locations[i], hashes[i]);
+            }
+        }
+        return locations;
     }
 
     /**
@@ -225,10 +1028,17 @@ public class LinearProbingHashMap<K, V> {
     public Set<K> keySet() {
         Set<K> hashSet = new HashSet<>(this.size);
         for (int i = 0; i < this.table.length; i++) {
-            if (this.table[i] != null && !this.table[i].isRemoved()) {
+            if (this.table[i] != null) {
                 hashSet.add(this.table[i].getKey());
             }
         }
+        if (this.oldTable != null) {
+            for (int i = 0; i < this.oldTable.length; i++) {
+                if (this.oldTable[i] != null) {
+                    hashSet.add(this.oldTable[i].getKey());
+                }
+            }
+        }
         return hashSet;
     }
 
@@ -236,29 +1046,121 @@ public class LinearProbingHashMap<K, V> {
      * Returns a List view of the values contained in this map.
      * Uses java.util.ArrayList.
      * We iterate over the table in order of increasing index and add
-     * entries to the List in the order in which they are traversed.
+     * entries to the List in the order in which they are traversed. While an
+     * incremental resize is in progress, the values still in the old table
+     * follow the values in the new table.
      *
      * @return list of values in this map
      */
     public List<V> values() {
         List<V> list = new ArrayList<>(this.size);
         for (int i = 0; i < this.table.length; i++) {
-            if (this.table[i] != null && !this.table[i].isRemoved()) {
+            if (this.table[i] != null) {
                 list.add(this.table[i].getValue());
             }
         }
+        if (this.oldTable != null) {
+            for (int i = 0; i < this.oldTable.length; i++) {
+                if (this.oldTable[i] != null) {
+                    list.add(this.oldTable[i].getValue());
+                }
+            }
+        }
         return list;
     }
 
     /**
-     * Resizes the backing table to length.
+     * Performs the given action on every key-value pair of the map, walking
+     * the backing table in place in order of increasing index. Nothing is
+     * copied and no entry is allocated.
+     *
+     * If an incremental resize is in progress, it is finished first.
+     *
+     * @param action the action to perform on every key-value pair
+     * @throws java.lang.IllegalArgumentException        if action is null
+     * @throws java.util.ConcurrentModificationException if the action adds
+     *                                                   or removes a key
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("The action cannot be null!!");
+        }
+        finishMigration();
+        int expectedModCount = this.modCount;
+        LinearProbingHashMapEntry<K, V>[] tab = this.table;
+        for (int i = 0; i < tab.length; i++) {
+            if (tab[i] != null) {
+                action.accept(tab[i].getKey(), tab[i].getValue());
+            }
+        }
+        if (this.modCount != expectedModCount) {
+            throw new ConcurrentModificationException("The map was modified during forEach!!");
+        }
+    }
+
+    /**
+     * Returns a cursor over the entries of the map, which walks the backing
+     * table in place. The cursor can be reset and reused for another pass,
+     * so repeated scans do not allocate.
+     *
+     * If an incremental resize is in progress, it is finished first.
+     *
+     * @return a cursor positioned before the first entry
+     */
+    public LinearProbingHashMapCursor<K, V> cursor() {
+        return new LinearProbingHashMapCursor<>(this);
+    }
+
+    /**
+     * Returns a Spliterator over the entries of the map, which walks the
+     * backing table in place and splits it into ranges of indices. The
+     * entries it returns are the ones in the table, so they must not be
+     * modified except through setValue.
+     *
+     * If an incremental resize is in progress, it is finished first.
+     *
+     * @return a Spliterator over the entries of the map
+     */
+    public Spliterator<LinearProbingHashMapEntry<K, V>> spliterator() {
+        finishMigration();
+        return new EntrySpliterator<>(this, this.table, 0, this.table.length,
+                this.size, this.modCount, true);
+    }
+
+    /**
+     * Finishes any incremental resize in progress, so that every entry of
+     * the map is in the table returned by getTable. Used by the cursor.
+     */
+    void finishResize() {
+        finishMigration();
+    }
+
+    /**
+     * Returns the number of structural modifications made to the map, which
+     * is used to detect modifications during iteration. Migration steps of
+     * an incremental resize only move entries, so they are counted by the
+     * migration epoch instead, and never make an iteration fail.
+     *
+     * @return the number of structural modifications
+     */
+    int getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Resizes the backing table to length, rounded up to the next power of
+     * two.
      *
      * We iterate over the old table in order of increasing index and
-     * add entries to the new table in the order in which they are traversed.
-     * We do not copy over removed elements to the resized backing table.
-     * Since resizing the backing table is working with the non-duplicate
-     * data already in the table, we don't explicitly check for
-     * duplicates.
+     * reinsert the existing entries into the new table with Robin Hood
+     * insertion in the order in which they are traversed. Since resizing
+     * the backing table is working with the non-duplicate data already in
+     * the table, we don't explicitly check for duplicates.
+     *
+     * This always resizes synchronously. If an incremental resize is in
+     * progress, it is finished first. When the table grows and the map holds
+     * at least PARALLEL_RESIZE_THRESHOLD entries, the entries are rehashed in
+     * parallel by parallelRehash instead.
      *
      * @param length new length of the backing table
      * @throws java.lang.IllegalArgumentException if length is less than the
@@ -270,24 +1172,96 @@ public class LinearProbingHashMap<K, V> {
             throw new IllegalArgumentException("Length of HashMap cannot be less"
                     + "than the number of items!!");
         }
-        LinearProbingHashMapEntry<K, V>[] newTable = new LinearProbingHashMapEntry[length];
-        int numberOfInsertions = 0;
-        for (int i = 0; i < this.table.length; i++) {
-            if (this.table[i] != null && !this.table[i].isRemoved()) {
-                int index = absoluteValue((this.table[i].getKey().hashCode() % newTable.length));
-                while (newTable[index] != null) {
-                    index = ((index + 1) % newTable.length);
+        finishMigration();
+        long start = (this.statistics != null) ? System.nanoTime() : 0;
+        LinearProbingHashMapEntry<K, V>[] newTable = new LinearProbingHashMapEntry[tableSizeFor(length)];
+        if (this.size >= PARALLEL_RESIZE_THRESHOLD && newTable.length >= this.table.length) {
+            parallelRehash(newTable);
+        } else {
+            int numberOfInsertions = 0;
+            for (int i = 0; i < this.table.length && numberOfInsertions < this.size; i++) {
+                if (this.table[i] != null) {
+                    LinearProbingHashMapEntry<K, V> entry = this.table[i];
+                    insertAt(newTable, entry.getHash() & (newTable.length - 1), entry);
+                    numberOfInsertions++;
                 }
-                LinearProbingHashMapEntry<K, V> entry;
-                entry = new LinearProbingHashMapEntry<>(this.table[i].getKey(), this.table[i].getValue());
-                newTable[index] = entry;
-                numberOfInsertions++;
-            }
-            if (numberOfInsertions == this.size) {
-                break;
             }
         }
         this.table = newTable;
+        this.modCount++;
+        if (this.bloomFilter != null) {
+            rebuildBloomFilter();
+        }
+        if (this.statistics != null) {
+            this.statistics.recordResize(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Private Helper Method that rehashes every entry of the table into
+     * newTable, which is at least as long, using the common ForkJoinPool.
+     *
+     * newTable is split into ranges of a power of two number of slots, and
+     * each range is filled by its own task, so no two tasks ever write the
+     * same slot. Since newTable is at least as long as the table, the
+     * entries whose new home index is in a range have their old home index
+     * in one range of the table, of the same length. The task scans that
+     * range of the table, and then keeps going until an empty slot, because
+     * the cluster at the end of the range can hold entries displaced past
+     * it, possibly wrapping around to the start of the table. The entries it
+     * finds are inserted into its range with Robin Hood insertion. Whenever
+     * an insertion would spill past the end of the range, which includes
+     * clusters that would wrap around newTable, the entry being carried is
+     * set aside instead. Once every task is done, the entries set aside are
+     * inserted one by one from their home index, which may shift entries of
+     * the next range.
+     *
+     * @param newTable is the new backing table, at least as long as the table
+     */
+    private void parallelRehash(LinearProbingHashMapEntry<K, V>[] newTable) {
+        int tasks = 4 * ForkJoinPool.commonPool().getParallelism();
+        int rangeLength = Math.max(PARALLEL_RESIZE_RANGE, Integer.highestOneBit(newTable.length / tasks));
+        rangeLength = Math.min(Math.min(rangeLength, this.table.length), newTable.length);
+        List<LinearProbingHashMapEntry<K, V>> overflow = ForkJoinPool.commonPool()
+                .invoke(new RehashTask<>(this.table, newTable, 0, newTable.length, rangeLength));
+        for (LinearProbingHashMapEntry<K, V> entry : overflow) {
+            insertAt(newTable, entry.getHash() & (newTable.length - 1), entry);
+        }
+    }
+
+    /**
+     * Private Helper Method that inserts entry into tab using Robin Hood
+     * insertion, starting at index, without writing at or past end.
+     *
+     * @param tab      is the backing table to insert into
+     * @param index    is the home index of entry, which is less than end
+     * @param entry    is the entry to insert
+     * @param end      is the index past the last slot that can be written
+     * @param overflow is the list to add the carried entry to if it would be
+     *                 written at or past end
+     */
+    private static <K, V> void insertInRange(LinearProbingHashMapEntry<K, V>[] tab, int index,
+                                             LinearProbingHashMapEntry<K, V> entry, int end,
+                                             List<LinearProbingHashMapEntry<K, V>> overflow) {
+        int mask = tab.length - 1;
+        LinearProbingHashMapEntry<K, V> carried = entry;
+        int distance = 0;
+        while (tab[index] != null) {
+            int occupantDistance = probeDistance(tab[index], index, mask);
+            if (occupantDistance < distance) {
+                LinearProbingHashMapEntry<K, V> temp = tab[index];
+                tab[index] = carried;
+                carried = temp;
+                distance = occupantDistance;
+            }
+            index++;
+            distance++;
+            if (index == end) {
+                overflow.add(carried);
+                return;
+            }
+        }
+        tab[index] = carried;
     }
 
     /**
@@ -297,11 +1271,274 @@ public class LinearProbingHashMap<K, V> {
      */
     public void clear() {
         this.table = new LinearProbingHashMapEntry[INITIAL_CAPACITY];
+        this.oldTable = null;
         this.size = 0;
+        this.modCount++;
+        if (this.bloomFilter != null) {
+            rebuildBloomFilter();
+        }
+    }
+
+    /**
+     * Sets whether or not the map grows incrementally.
+     *
+     * When enabled, growing no longer rehashes the whole table inside a
+     * single put. Instead, the old and new tables coexist and every put,
+     * get, remove and containsKey migrates at least MIGRATION_STEP slots of
+     * the old table, which bounds the latency of any single operation.
+     * Disabling it finishes any resize in progress.
+     *
+     * @param incrementalResize true to grow incrementally, false to grow
+     *                          with resizeBackingTable
+     */
+    public void setIncrementalResize(boolean incrementalResize) {
+        this.incrementalResize = incrementalResize;
+        if (!incrementalResize) {
+            finishMigration();
+        }
+    }
+
+    /**
+     * Returns whether or not the map grows incrementally.
+     *
+     * @return true if the map grows incrementally, false otherwise
+     */
+    public boolean isIncrementalResize() {
+        return incrementalResize;
+    }
+
+    /**
+     * Puts a blocked Bloom filter in front of get, getOrDefault and
+     * containsKey, so that most lookups of missing keys are answered with a
+     * single cache line instead of walking a cluster.
+     *
+     * The filter is sized for the most entries the current table can hold,
+     * and is built right away from the entries of the map. Every new key is
+     * added to it, and it is rebuilt whenever the table is resized, which
+     * also drops the keys that were removed since. Since removals never
+     * resize the table, a map that keeps removing and adding keys would
+     * fill the filter up, so it is also refilled in place from the entries
+     * of the map once more keys were added to it than it was sized for.
+     *
+     * @param falsePositiveRate the target rate of missing keys for which the
+     *                          table is still probed
+     * @throws java.lang.IllegalArgumentException if falsePositiveRate is not
+     *                                            strictly between 0 and 1
+     */
+    public void enableBloomFilter(double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1!!");
+        }
+        this.bloomFilterRate = falsePositiveRate;
+        rebuildBloomFilter();
+    }
+
+    /**
+     * Removes the Bloom filter, if there is one.
+     */
+    public void disableBloomFilter() {
+        this.bloomFilter = null;
+        this.migrationBloomFilter = null;
+    }
+
+    /**
+     * Returns whether or not lookups go through a Bloom filter.
+     *
+     * @return true if the Bloom filter is enabled, false otherwise
+     */
+    public boolean isBloomFilterEnabled() {
+        return bloomFilter != null;
+    }
+
+    /**
+     * Returns the estimated false positive rate of the Bloom filter, which
+     * grows as keys are added and removed, and drops back when the filter is
+     * rebuilt on resize or refilled.
+     *
+     * @return the estimated false positive rate, or 0 if the Bloom filter is
+     * not enabled
+     */
+    public double getBloomFilterFalsePositiveRate() {
+        return (bloomFilter == null) ? 0 : bloomFilter.expectedFalsePositiveRate();
+    }
+
+    /**
+     * Private Helper Method that returns an empty Bloom filter sized for the
+     * most entries a table of length can hold.
+     *
+     * @param length is the length of the table
+     * @return the Bloom filter
+     */
+    private BlockedBloomFilter newBloomFilter(int length) {
+        return new BlockedBloomFilter((int) (MAX_LOAD_FACTOR * length) + 1, this.bloomFilterRate);
+    }
+
+    /**
+     * Private Helper Method that replaces the Bloom filter with a new one
+     * built from every entry of the table and, while an incremental resize
+     * is in progress, of the old table.
+     */
+    private void rebuildBloomFilter() {
+        BlockedBloomFilter filter = newBloomFilter(this.table.length);
+        for (LinearProbingHashMapEntry<K, V> entry : this.table) {
+            if (entry != null) {
+                filter.add(entry.getHash());
+            }
+        }
+        if (this.oldTable != null) {
+            for (LinearProbingHashMapEntry<K, V> entry : this.oldTable) {
+                if (entry != null) {
+                    filter.add(entry.getHash());
+                }
+            }
+        }
+        this.bloomFilter = filter;
+        this.migrationBloomFilter = null;
+        scheduleBloomFilterRefill();
+    }
+
+    /**
+     * Private Helper Method that clears the Bloom filter and adds the
+     * entries of the table back to it, dropping the keys that were removed
+     * since it was last filled. It is only called while no incremental
+     * resize is in progress, so every entry is in the table.
+     */
+    private void refillBloomFilter() {
+        this.bloomFilter.clear();
+        for (LinearProbingHashMapEntry<K, V> entry : this.table) {
+            if (entry != null) {
+                this.bloomFilter.add(entry.getHash());
+            }
+        }
+        scheduleBloomFilterRefill();
+    }
+
+    /**
+     * Private Helper Method that sets how many additions the Bloom filter
+     * may hold before it is refilled: as many as it was sized for, but at
+     * least a quarter of that more than it holds now. Each refill costs a
+     * pass over the table, and is then paid for by that many insertions,
+     * while the filter never holds much more than it was sized for.
+     */
+    private void scheduleBloomFilterRefill() {
+        long expected = this.bloomFilter.getExpectedEntries();
+        this.bloomFilterRefillAt = Math.max(expected,
+                this.bloomFilter.getAdditions() + expected / BLOOM_FILTER_REFILL_DIVISOR);
+    }
+
+    /**
+     * Sets whether or not the map collects statistics.
+     *
+     * When enabled, every lookup records its probe length, and removals and
+     * resizes are counted. When disabled, which is the default, the map
+     * keeps no statistics and pays only a null check. Enabling statistics
+     * starts every count at 0, and disabling them discards the counts.
+     *
+     * @param enabled true to collect statistics, false otherwise
+     */
+    public void setStatisticsEnabled(boolean enabled) {
+        if (!enabled) {
+            this.statistics = null;
+        } else if (this.statistics == null) {
+            this.statistics = new LinearProbingHashMapStatistics();
+        }
+    }
+
+    /**
+     * Returns whether or not the map collects statistics.
+     *
+     * @return true if the map collects statistics, false otherwise
+     */
+    public boolean isStatisticsEnabled() {
+        return statistics != null;
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the map.
+     *
+     * The max cluster length is computed by scanning the backing table, and
+     * the old table too while an incremental resize is in progress, so this
+     * takes O(capacity) time.
+     *
+     * @return the snapshot, or null if statistics are not enabled
+     */
+    public LinearProbingHashMapStatisticsSnapshot getStatistics() {
+        if (this.statistics == null) {
+            return null;
+        }
+        return snapshotOf(this.statistics);
+    }
+
+    /**
+     * Private Helper Method that takes a snapshot of the given statistics
+     * and of the backing tables.
+     *
+     * @param stats is the statistics to copy the counts from
+     * @return the snapshot
+     */
+    private LinearProbingHashMapStatisticsSnapshot snapshotOf(LinearProbingHashMapStatistics stats) {
+        int maxClusterLength = maxClusterLength(this.table);
+        if (this.oldTable != null) {
+            maxClusterLength = Math.max(maxClusterLength, maxClusterLength(this.oldTable));
+        }
+        return new LinearProbingHashMapStatisticsSnapshot(stats, maxClusterLength,
+                this.size, this.table.length);
     }
 
     /**
-     * Returns the table of the map.
+     * Private Helper Method that returns the length of the longest run of
+     * occupied slots of tab, including a run that wraps around its end.
+     *
+     * @param tab is the backing table to scan
+     * @return the max cluster length
+     */
+    private static int maxClusterLength(LinearProbingHashMapEntry<?, ?>[] tab) {
+        int start = 0;
+        while (start < tab.length && tab[start] != null) {
+            start++;
+        }
+        if (start == tab.length) {
+            return tab.length;
+        }
+        int longest = 0;
+        int run = 0;
+        for (int i = 1; i <= tab.length; i++) {
+            if (tab[(start + i) & (tab.length - 1)] != null) {
+                run++;
+                longest = Math.max(longest, run);
+            } else {
+                run = 0;
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Registers the statistics of the map with the platform MBean server
+     * under the given name, enabling them if they are not. Every attribute
+     * read through JMX takes a new snapshot.
+     *
+     * @param name the object name to register under, such as
+     *             "example:type=LinearProbingHashMap,name=users"
+     * @return the object name the statistics were registered under
+     * @throws java.lang.IllegalArgumentException if name is null
+     * @throws javax.management.JMException       if name is malformed or
+     *                                            already registered
+     */
+    public ObjectName registerStatistics(String name) throws JMException {
+        if (name == null) {
+            throw new IllegalArgumentException("The name cannot be null!!");
+        }
+        setStatisticsEnabled(true);
+        ObjectName objectName = new ObjectName(name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new StatisticsBean(), objectName);
+        return objectName;
+    }
+
+    /**
+     * Returns the table of the map. While an incremental resize is in
+     * progress, this is the new table, and entries that have not been
+     * migrated yet are only in the old table.
      * 
      * @return the table of the map
      */
@@ -317,4 +1554,254 @@ public class LinearProbingHashMap<K, V> {
     public int size() {
         return size;
     }
+
+    /**
+     * MXBean exporting the statistics of the map, reading every attribute
+     * from a new snapshot.
+     */
+    private final class StatisticsBean implements LinearProbingHashMapStatisticsMXBean {
+
+        /**
+         * Private Helper Method that returns a snapshot of the statistics.
+         * If they were disabled since registration, the counts are all 0.
+         *
+         * @return the snapshot
+         */
+        private LinearProbingHashMapStatisticsSnapshot snapshot() {
+            LinearProbingHashMapStatistics stats = statistics;
+            return snapshotOf((stats != null) ? stats : new LinearProbingHashMapStatistics());
+        }
+
+        @Override
+        public long[] getHitProbeHistogram() {
+            return snapshot().getHitProbeHistogram();
+        }
+
+        @Override
+        public long[] getMissProbeHistogram() {
+            return snapshot().getMissProbeHistogram();
+        }
+
+        @Override
+        public double getMeanHitProbeLength() {
+            return snapshot().getMeanHitProbeLength();
+        }
+
+        @Override
+        public double getMeanMissProbeLength() {
+            return snapshot().getMeanMissProbeLength();
+        }
+
+        @Override
+        public int getMaxClusterLength() {
+            return snapshot().getMaxClusterLength();
+        }
+
+        @Override
+        public int getTombstoneCount() {
+            return snapshot().getTombstoneCount();
+        }
+
+        @Override
+        public long getRemovalCount() {
+            return snapshot().getRemovalCount();
+        }
+
+        @Override
+        public long getResizeCount() {
+            return snapshot().getResizeCount();
+        }
+
+        @Override
+        public long getTotalResizeNanos() {
+            return snapshot().getTotalResizeNanos();
+        }
+
+        @Override
+        public double getLoadFactor() {
+            return snapshot().getLoadFactor();
+        }
+
+        @Override
+        public int getSize() {
+            return snapshot().getSize();
+        }
+
+        @Override
+        public int getCapacity() {
+            return snapshot().getCapacity();
+        }
+    }
+
+    /**
+     * Task rehashing the entries whose new home index is in a range of the
+     * new table, as described in parallelRehash. It returns the entries that
+     * did not fit in the range.
+     */
+    private static final class RehashTask<K, V>
+            extends RecursiveTask<List<LinearProbingHashMapEntry<K, V>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final LinearProbingHashMapEntry<K, V>[] oldTable;
+        private final LinearProbingHashMapEntry<K, V>[] newTable;
+        private final int start;
+        private final int end;
+        private final int rangeLength;
+
+        /**
+         * Constructs a new RehashTask for the slots from start inclusive to
+         * end exclusive of newTable.
+         *
+         * @param oldTable    is the table to rehash the entries of
+         * @param newTable    is the table to rehash the entries into
+         * @param start       is the first slot of the range
+         * @param end         is the slot past the end of the range
+         * @param rangeLength is the largest range rehashed without splitting
+         */
+        private RehashTask(LinearProbingHashMapEntry<K, V>[] oldTable,
+                           LinearProbingHashMapEntry<K, V>[] newTable,
+                           int start, int end, int rangeLength) {
+            this.oldTable = oldTable;
+            this.newTable = newTable;
+            this.start = start;
+            this.end = end;
+            this.rangeLength = rangeLength;
+        }
+
+        @Override
+        protected List<LinearProbingHashMapEntry<K, V>> compute() {
+            if (this.end - this.start > this.rangeLength) {
+                int middle = (this.start + this.end) >>> 1;
+                RehashTask<K, V> right = new RehashTask<>(this.oldTable, this.newTable,
+                        middle, this.end, this.rangeLength);
+                right.fork();
+                List<LinearProbingHashMapEntry<K, V>> overflow = new RehashTask<>(this.oldTable,
+                        this.newTable, this.start, middle, this.rangeLength).compute();
+                overflow.addAll(right.join());
+                return overflow;
+            }
+            List<LinearProbingHashMapEntry<K, V>> overflow = new ArrayList<>();
+            int oldMask = this.oldTable.length - 1;
+            int newMask = this.newTable.length - 1;
+            int index = this.start & oldMask;
+            int length = this.end - this.start;
+            for (int scanned = 0; scanned < this.oldTable.length
+                    && (scanned < length || this.oldTable[index] != null); scanned++) {
+                LinearProbingHashMapEntry<K, V> entry = this.oldTable[index];
+                if (entry != null) {
+                    int home = entry.getHash() & newMask;
+                    if (home >= this.start && home < this.end) {
+                        insertInRange(this.newTable, home, entry, this.end, overflow);
+                    }
+                }
+                index = ((index + 1) & oldMask);
+            }
+            return overflow;
+        }
+    }
+
+    /**
+     * Spliterator over a range of indices of a backing table.
+     */
+    private static final class EntrySpliterator<K, V>
+            implements Spliterator<LinearProbingHashMapEntry<K, V>> {
+
+        private final LinearProbingHashMap<K, V> map;
+        private final LinearProbingHashMapEntry<K, V>[] table;
+        private final int expectedModCount;
+        private int origin;
+        private final int fence;
+        private int estimate;
+        private boolean exact;
+
+        /**
+         * Constructs a new EntrySpliterator over [origin, fence) of table.
+         *
+         * @param map              the map being iterated over
+         * @param table            the backing table of the map
+         * @param origin           the first index to visit
+         * @param fence            one past the last index to visit
+         * @param estimate         the estimated number of entries in range
+         * @param expectedModCount the modCount of the map at creation
+         * @param exact            true if estimate is the exact size
+         */
+        private EntrySpliterator(LinearProbingHashMap<K, V> map,
+                                 LinearProbingHashMapEntry<K, V>[] table, int origin,
+                                 int fence, int estimate, int expectedModCount,
+                                 boolean exact) {
+            this.map = map;
+            this.table = table;
+            this.origin = origin;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.expectedModCount = expectedModCount;
+            this.exact = exact;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super LinearProbingHashMapEntry<K, V>> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            while (this.origin < this.fence) {
+                LinearProbingHashMapEntry<K, V> entry = this.table[this.origin++];
+                if (entry != null) {
+                    action.accept(entry);
+                    checkForComodification();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super LinearProbingHashMapEntry<K, V>> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            for (int i = this.origin; i < this.fence; i++) {
+                if (this.table[i] != null) {
+                    action.accept(this.table[i]);
+                }
+            }
+            this.origin = this.fence;
+            checkForComodification();
+        }
+
+        @Override
+        public Spliterator<LinearProbingHashMapEntry<K, V>> trySplit() {
+            int mid = (this.origin + this.fence) >>> 1;
+            if (mid <= this.origin) {
+                return null;
+            }
+            this.estimate >>>= 1;
+            this.exact = false;
+            EntrySpliterator<K, V> prefix = new EntrySpliterator<>(this.map, this.table,
+                    this.origin, mid, this.estimate, this.expectedModCount, false);
+            this.origin = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT | Spliterator.NONNULL
+                    | (this.exact ? Spliterator.SIZED : 0);
+        }
+
+        /**
+         * Throws if the map was structurally modified since this spliterator
+         * was created.
+         */
+        private void checkForComodification() {
+            if (this.map.getModCount() != this.expectedModCount) {
+                throw new ConcurrentModificationException("The map was modified during iteration!!");
+            }
+        }
+    }
 }
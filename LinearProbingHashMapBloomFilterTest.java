@@ -0,0 +1,97 @@
+/**
+ * Test class for the Bloom filter of LinearProbingHashMap.
+ *
+ * The repository has no test framework, so the checks are run from main and
+ * throw an AssertionError on the first failure.
+ *
+ * @author AKSHAT KARWA
+ */
+public class LinearProbingHashMapBloomFilterTest {
+
+    private static final int ENTRIES = 10000;
+    private static final int CAPACITY = 16384;
+    private static final int ROUNDS = 8;
+    private static final int LOOKUPS = 50000;
+    private static final double RATE = 0.01;
+
+    /**
+     * Runs every check.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        churnKeepsFalsePositiveRateBounded();
+        System.out.println("All LinearProbingHashMap Bloom filter checks passed.");
+    }
+
+    /**
+     * Checks that removing and adding keys over and over, which never
+     * resizes the table, does not fill up the Bloom filter. Every round
+     * removes every key and adds as many new ones, and the rate of missing
+     * keys that get past the filter must stay within a small multiple of the
+     * target rate.
+     */
+    private static void churnKeepsFalsePositiveRateBounded() {
+        LinearProbingHashMap<Integer, Integer> map = new LinearProbingHashMap<>(CAPACITY);
+        map.enableBloomFilter(RATE);
+        for (int key = 0; key < ENTRIES; key++) {
+            map.put(key, key);
+        }
+        int length = map.getTable().length;
+        for (int round = 1; round <= ROUNDS; round++) {
+            for (int key = (round - 1) * ENTRIES; key < round * ENTRIES; key++) {
+                map.remove(key);
+            }
+            for (int key = round * ENTRIES; key < (round + 1) * ENTRIES; key++) {
+                map.put(key, key);
+            }
+            check(map.getTable().length == length, "the churn resized the table");
+            double rate = measuredFalsePositiveRate(map, -1 - round * LOOKUPS);
+            check(rate <= 4 * RATE, "round " + round + " let " + rate
+                    + " of the missing keys through the filter");
+            check(map.getBloomFilterFalsePositiveRate() <= 4 * RATE,
+                    "round " + round + " estimated a rate of " + map.getBloomFilterFalsePositiveRate());
+        }
+        for (int key = ROUNDS * ENTRIES; key < (ROUNDS + 1) * ENTRIES; key++) {
+            check(map.containsKey(key), "the filter lost key " + key);
+        }
+    }
+
+    /**
+     * Private Helper Method that returns the fraction of lookups of missing
+     * keys that the Bloom filter lets through to the table. Only those
+     * lookups probe the table, so they are the misses counted by the
+     * statistics of the map.
+     *
+     * @param map   is the map to measure
+     * @param first is the first of LOOKUPS negative keys, none of which are
+     *              in the map
+     * @return the measured false positive rate
+     */
+    private static double measuredFalsePositiveRate(LinearProbingHashMap<Integer, Integer> map,
+                                                    int first) {
+        map.setStatisticsEnabled(false);
+        map.setStatisticsEnabled(true);
+        for (int key = first; key > first - LOOKUPS; key--) {
+            check(!map.containsKey(key), "found missing key " + key);
+        }
+        long probed = 0;
+        for (long count : map.getStatistics().getMissProbeHistogram()) {
+            probed += count;
+        }
+        map.setStatisticsEnabled(false);
+        return (double) probed / LOOKUPS;
+    }
+
+    /**
+     * Private Helper Method that throws if a condition does not hold.
+     *
+     * @param condition is the condition to check
+     * @param message   is the message of the failure
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor class used for iterating over a LinearProbingHashMap without
+ * copying it.
+ *
+ * The cursor walks the backing table of the map in place, in order of
+ * increasing index, and skips empty slots. It starts before the first entry,
+ * and advance moves it to the next one. Calling reset starts a new pass, so
+ * one cursor can be reused for every periodic scan of a map.
+ *
+ * @author AKSHAT KARWA
+ */
+public class LinearProbingHashMapCursor<K, V> {
+
+    private final LinearProbingHashMap<K, V> map;
+    private LinearProbingHashMapEntry<K, V>[] table;
+    private LinearProbingHashMapEntry<K, V> current;
+    private int index;
+    private int expectedModCount;
+
+    /**
+     * Constructs a new LinearProbingHashMapCursor positioned before the first
+     * entry of map.
+     *
+     * @param map the map to iterate over
+     */
+    LinearProbingHashMapCursor(LinearProbingHashMap<K, V> map) {
+        this.map = map;
+        reset();
+    }
+
+    /**
+     * Moves the cursor back before the first entry of the map. If an
+     * incremental resize of the map is in progress, it is finished first.
+     */
+    public void reset() {
+        this.map.finishResize();
+        this.table = this.map.getTable();
+        this.expectedModCount = this.map.getModCount();
+        this.current = null;
+        this.index = -1;
+    }
+
+    /**
+     * Moves the cursor to the next entry of the map.
+     *
+     * @return true if the cursor is on an entry, false if there are no more
+     * entries
+     * @throws java.util.ConcurrentModificationException if a key was added to
+     *                                                   or removed from the
+     *                                                   map since the last
+     *                                                   reset
+     */
+    public boolean advance() {
+        if (this.map.getModCount() != this.expectedModCount) {
+            throw new ConcurrentModificationException("The map was modified during iteration!!");
+        }
+        while (++this.index < this.table.length) {
+            if (this.table[this.index] != null) {
+                this.current = this.table[this.index];
+                return true;
+            }
+        }
+        this.index = this.table.length;
+        this.current = null;
+        return false;
+    }
+
+    /**
+     * Gets the key of the entry the cursor is on.
+     *
+     * @return the key of the current entry
+     * @throws java.util.NoSuchElementException if the cursor is not on an
+     *                                          entry
+     */
+    public K getKey() {
+        return currentEntry().getKey();
+    }
+
+    /**
+     * Gets the value of the entry the cursor is on.
+     *
+     * @return the value of the current entry
+     * @throws java.util.NoSuchElementException if the cursor is not on an
+     *                                          entry
+     */
+    public V getValue() {
+        return currentEntry().getValue();
+    }
+
+    /**
+     * Replaces the value of the entry the cursor is on. This is not a
+     * structural modification, so the cursor stays valid.
+     *
+     * @param value the new value
+     * @return the old value of the current entry
+     * @throws java.lang.IllegalArgumentException if value is null
+     * @throws java.util.NoSuchElementException   if the cursor is not on an
+     *                                            entry
+     */
+    public V setValue(V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("The value cannot be null!!");
+        }
+        LinearProbingHashMapEntry<K, V> entry = currentEntry();
+        V old = entry.getValue();
+        entry.setValue(value);
+        return old;
+    }
+
+    /**
+     * Private Helper Method that returns the entry the cursor is on.
+     *
+     * @return the current entry
+     * @throws java.util.NoSuchElementException if the cursor is not on an
+     *                                          entry
+     */
+    private LinearProbingHashMapEntry<K, V> currentEntry() {
+        if (this.current == null) {
+            throw new NoSuchElementException("The cursor is not on an entry!!");
+        }
+        return this.current;
+    }
+}
@@ -7,18 +7,34 @@ public class LinearProbingHashMapEntry<K, V> {
 
     private K key;
     private V value;
+    private int hash;
     private boolean removed;
 
     /**
      * Constructs a new LinearProbingHashMapEntry with the given key and value.
      * The removed flag is default set to false.
+     * We use constructor chaining.
      *
      * @param key   the key for this entry
      * @param value the value for this entry
      */
     public LinearProbingHashMapEntry(K key, V value) {
+        this(key, value, LinearProbingHashMap.spread(key.hashCode()));
+    }
+
+    /**
+     * Constructs a new LinearProbingHashMapEntry with the given key, value
+     * and already spread hashcode of the key.
+     * The removed flag is default set to false.
+     *
+     * @param key   the key for this entry
+     * @param value the value for this entry
+     * @param hash  the spread hashcode of the key
+     */
+    LinearProbingHashMapEntry(K key, V value, int hash) {
         this.key = key;
         this.value = value;
+        this.hash = hash;
     }
 
     /**
@@ -39,6 +55,16 @@ public class LinearProbingHashMapEntry<K, V> {
         return value;
     }
 
+    /**
+     * Gets the spread hashcode of the key, cached so that probes can compare
+     * it before calling equals and resizes never call hashCode again.
+     *
+     * @return the spread hashcode of the key
+     */
+    public int getHash() {
+        return hash;
+    }
+
     /**
      * Gets the removed status.
      *
@@ -49,12 +75,13 @@ public class LinearProbingHashMapEntry<K, V> {
     }
 
     /**
-     * Sets the key.
+     * Sets the key, and recomputes the cached hashcode.
      *
      * @param key the new key
      */
     public void setKey(K key) {
         this.key = key;
+        this.hash = LinearProbingHashMap.spread(key.hashCode());
     }
 
     /**
@@ -0,0 +1,152 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Test class for the incremental resizing of LinearProbingHashMap.
+ *
+ * The repository has no test framework, so the checks are run from main and
+ * throw an AssertionError on the first failure.
+ *
+ * @author AKSHAT KARWA
+ */
+public class LinearProbingHashMapIncrementalResizeTest {
+
+    /**
+     * Runs every check.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        computeFunctionsMayReadDuringMigration();
+        replacingValuesDuringForEachDoesNotResize();
+        randomOperationsMatchHashMap();
+        System.out.println("All LinearProbingHashMap incremental resize checks passed.");
+    }
+
+    /**
+     * Checks that the functions passed to computeIfAbsent, computeIfPresent
+     * and merge can read the map while an incremental resize is in progress,
+     * even though those reads migrate entries.
+     */
+    private static void computeFunctionsMayReadDuringMigration() {
+        LinearProbingHashMap<Integer, Integer> map = new LinearProbingHashMap<>();
+        map.setIncrementalResize(true);
+        Map<Integer, Integer> expected = new HashMap<>();
+        int checked = 0;
+        for (int key = 0; key < 20000; key++) {
+            int length = map.getTable().length;
+            map.put(key, key);
+            expected.put(key, key);
+            if (map.getTable().length == length) {
+                continue;
+            }
+            int absent = -key - 1;
+            Integer computed = map.computeIfAbsent(absent, k -> map.get(0) + map.size());
+            expected.put(absent, expected.get(0) + expected.size());
+            check(computed.equals(expected.get(absent)), "computeIfAbsent returned the wrong value");
+            map.computeIfPresent(key, (k, v) -> map.containsKey(k - 1) ? v + 1 : v);
+            expected.computeIfPresent(key, (k, v) -> expected.containsKey(k - 1) ? v + 1 : v);
+            int added = key;
+            map.merge(key / 2, 10, (a, b) -> a + b + map.getOrDefault(added, 0));
+            expected.merge(key / 2, 10, (a, b) -> a + b + expected.getOrDefault(added, 0));
+            map.computeIfPresent(absent, (k, v) -> map.get(1) < 0 ? v : null);
+            expected.computeIfPresent(absent, (k, v) -> expected.get(1) < 0 ? v : null);
+            checked++;
+        }
+        check(checked > 5, "no incremental resize happened");
+        checkSame(map, expected);
+    }
+
+    /**
+     * Checks that replacing the values of existing keys from forEach does
+     * not resize the table, even when the map is right at its max load
+     * factor, so the iteration does not fail.
+     */
+    private static void replacingValuesDuringForEachDoesNotResize() {
+        for (boolean incremental : new boolean[] {false, true}) {
+            LinearProbingHashMap<Integer, Integer> map = new LinearProbingHashMap<>();
+            map.setIncrementalResize(incremental);
+            int key = 0;
+            while ((map.size() + 1)
+                    <= LinearProbingHashMap.MAX_LOAD_FACTOR * map.getTable().length) {
+                map.put(key, key);
+                key++;
+            }
+            int length = map.getTable().length;
+            map.forEach((k, v) -> map.put(k, v + 1));
+            check(map.getTable().length == length, "replacing values resized the table");
+            for (int k = 0; k < key; k++) {
+                check(map.get(k) == k + 1, "forEach lost an update");
+            }
+        }
+    }
+
+    /**
+     * Checks random operations with incremental resizing against HashMap.
+     */
+    private static void randomOperationsMatchHashMap() {
+        Random random = new Random(9);
+        LinearProbingHashMap<Integer, Integer> map = new LinearProbingHashMap<>();
+        map.setIncrementalResize(true);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 200000; step++) {
+            int key = random.nextInt(50000);
+            int other = random.nextInt(50000);
+            switch (random.nextInt(5)) {
+                case 0:
+                    map.put(key, step);
+                    expected.put(key, step);
+                    break;
+                case 1:
+                    if (expected.containsKey(key)) {
+                        check(map.remove(key).equals(expected.remove(key)),
+                                "remove returned the wrong value");
+                    }
+                    break;
+                case 2:
+                    map.merge(key, 1, (a, b) -> a + b + map.getOrDefault(other, 0));
+                    expected.merge(key, 1, (a, b) -> a + b + expected.getOrDefault(other, 0));
+                    break;
+                case 3:
+                    map.computeIfAbsent(key, k -> map.containsKey(other) ? 1 : null);
+                    expected.computeIfAbsent(key, k -> expected.containsKey(other) ? 1 : null);
+                    break;
+                default:
+                    map.computeIfPresent(key, (k, v) -> map.containsKey(other) ? null : v + 1);
+                    expected.computeIfPresent(key,
+                            (k, v) -> expected.containsKey(other) ? null : v + 1);
+                    break;
+            }
+        }
+        checkSame(map, expected);
+    }
+
+    /**
+     * Private Helper Method that checks that map holds exactly the entries
+     * of expected.
+     *
+     * @param map      is the map to check
+     * @param expected is the map holding the expected entries
+     */
+    private static void checkSame(LinearProbingHashMap<Integer, Integer> map,
+                                  Map<Integer, Integer> expected) {
+        check(map.size() == expected.size(), "the sizes differ");
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            check(entry.getValue().equals(map.getOrDefault(entry.getKey(), null)),
+                    "the value of " + entry.getKey() + " differs");
+        }
+    }
+
+    /**
+     * Private Helper Method that throws if a condition does not hold.
+     *
+     * @param condition is the condition to check
+     * @param message   is the message of the failure
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * Reader class used for loading a snapshot written by a
+ * LinearProbingHashMapSnapshotWriter.
+ *
+ * The reader streams the file one block at a time and walks its entries
+ * like a LinearProbingHashMapCursor: it starts before the first entry, and
+ * advance moves it to the next one. Since the header holds the number of
+ * entries, readInto and load size the table of the map exactly once before
+ * adding anything, so loading never resizes in between.
+ *
+ * @author AKSHAT KARWA
+ */
+public class LinearProbingHashMapSnapshotReader<K, V> implements Closeable {
+
+    private final FixedWidthCodec<K> keyCodec;
+    private final FixedWidthCodec<V> valueCodec;
+    private final int entryWidth;
+    private final boolean compressed;
+    private final FileChannel channel;
+    private final ByteBuffer block;
+    private final byte[] stored;
+    private final ByteBuffer blockHeader;
+    private final long count;
+    private long read;
+    private int offset;
+    private int blockLength;
+
+    /**
+     * Opens the snapshot file at path.
+     *
+     * @param path       the snapshot file to read
+     * @param keyCodec   the codec of the keys
+     * @param valueCodec the codec of the values
+     * @throws java.io.IOException                if the file cannot be read
+     * @throws java.lang.IllegalArgumentException if any argument is null, or
+     *                                            if the file is not a
+     *                                            snapshot written with codecs
+     *                                            of the same widths
+     */
+    public LinearProbingHashMapSnapshotReader(Path path, FixedWidthCodec<K> keyCodec,
+                                              FixedWidthCodec<V> valueCodec) throws IOException {
+        if (path == null || keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("The path and codecs cannot be null!!");
+        }
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.entryWidth = keyCodec.width() + valueCodec.width();
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        ByteBuffer header = ByteBuffer.allocate(LinearProbingHashMapSnapshotWriter.HEADER_SIZE);
+        try {
+            readFully(header);
+        } catch (EOFException e) {
+            this.channel.close();
+            throw new IllegalArgumentException("The file is not a snapshot!!");
+        }
+        if (header.getInt(LinearProbingHashMapSnapshotWriter.MAGIC_OFFSET)
+                != LinearProbingHashMapSnapshotWriter.MAGIC
+                || header.getInt(LinearProbingHashMapSnapshotWriter.VERSION_OFFSET)
+                != LinearProbingHashMapSnapshotWriter.VERSION) {
+            this.channel.close();
+            throw new IllegalArgumentException("The file is not a snapshot!!");
+        }
+        if (header.getInt(LinearProbingHashMapSnapshotWriter.KEY_WIDTH_OFFSET) != keyCodec.width()
+                || header.getInt(LinearProbingHashMapSnapshotWriter.VALUE_WIDTH_OFFSET)
+                != valueCodec.width()) {
+            this.channel.close();
+            throw new IllegalArgumentException("The file was written with different codecs!!");
+        }
+        int blockEntries = header.getInt(LinearProbingHashMapSnapshotWriter.BLOCK_ENTRIES_OFFSET);
+        this.count = header.getLong(LinearProbingHashMapSnapshotWriter.COUNT_OFFSET);
+        if (blockEntries <= 0 || (long) blockEntries * this.entryWidth > Integer.MAX_VALUE / 2
+                || this.count < 0) {
+            this.channel.close();
+            throw new IllegalArgumentException("The file is not a snapshot!!");
+        }
+        this.compressed = (header.getInt(LinearProbingHashMapSnapshotWriter.FLAGS_OFFSET)
+                & LinearProbingHashMapSnapshotWriter.FLAG_COMPRESSED) != 0;
+        this.block = ByteBuffer.allocate(blockEntries * this.entryWidth);
+        this.stored = this.compressed
+                ? new byte[BlockCompressor.maxCompressedLength(this.block.capacity())] : null;
+        this.blockHeader = ByteBuffer.allocate(LinearProbingHashMapSnapshotWriter.BLOCK_HEADER);
+        this.offset = -this.entryWidth;
+        this.blockLength = 0;
+    }
+
+    /**
+     * Returns the number of entries in the snapshot.
+     *
+     * @return the number of entries
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Moves the reader to the next entry of the snapshot, reading the next
+     * block if the current one is done.
+     *
+     * @return true if the reader is on an entry, false if there are no more
+     * entries
+     * @throws java.io.IOException                if the file cannot be read
+     *                                            or is truncated
+     * @throws java.lang.IllegalArgumentException if a block is malformed
+     */
+    public boolean advance() throws IOException {
+        if (this.read == this.count) {
+            this.offset = this.blockLength;
+            return false;
+        }
+        this.offset += this.entryWidth;
+        if (this.offset >= this.blockLength) {
+            readBlock();
+        }
+        this.read++;
+        return true;
+    }
+
+    /**
+     * Private Helper Method that reads the next block into the block buffer,
+     * decompressing it if it was stored compressed.
+     *
+     * @throws java.io.IOException                if the file cannot be read
+     *                                            or is truncated
+     * @throws java.lang.IllegalArgumentException if the block is malformed
+     */
+    private void readBlock() throws IOException {
+        this.blockHeader.clear();
+        readFully(this.blockHeader);
+        int length = this.blockHeader.getInt(0);
+        int storedLength = this.blockHeader.getInt(4);
+        if (length <= 0 || length > this.block.capacity() || length % this.entryWidth != 0
+                || storedLength <= 0 || storedLength > length) {
+            throw new IllegalArgumentException("The block is malformed!!");
+        }
+        this.block.clear();
+        if (storedLength == length) {
+            this.block.limit(length);
+            readFully(this.block);
+        } else {
+            if (!this.compressed) {
+                throw new IllegalArgumentException("The block is malformed!!");
+            }
+            readFully(ByteBuffer.wrap(this.stored, 0, storedLength));
+            BlockCompressor.decompress(this.stored, storedLength, this.block.array(), length);
+        }
+        this.blockLength = length;
+        this.offset = 0;
+    }
+
+    /**
+     * Private Helper Method that fills the remaining bytes of buffer from the
+     * file.
+     *
+     * @param buffer is the buffer to fill
+     * @throws java.io.IOException if the file cannot be read or ends first
+     */
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer) < 0) {
+                throw new EOFException("The snapshot is truncated!!");
+            }
+        }
+    }
+
+    /**
+     * Gets the key of the entry the reader is on.
+     *
+     * @return the key of the current entry
+     * @throws java.util.NoSuchElementException if the reader is not on an
+     *                                          entry
+     */
+    public K getKey() {
+        checkOnEntry();
+        return this.keyCodec.decode(this.block, this.offset);
+    }
+
+    /**
+     * Gets the value of the entry the reader is on.
+     *
+     * @return the value of the current entry
+     * @throws java.util.NoSuchElementException if the reader is not on an
+     *                                          entry
+     */
+    public V getValue() {
+        checkOnEntry();
+        return this.valueCodec.decode(this.block, this.offset + this.keyCodec.width());
+    }
+
+    /**
+     * Private Helper Method that checks that the reader is on an entry.
+     *
+     * @throws java.util.NoSuchElementException if the reader is not on an
+     *                                          entry
+     */
+    private void checkOnEntry() {
+        if (this.offset < 0 || this.offset >= this.blockLength) {
+            throw new NoSuchElementException("The reader is not on an entry!!");
+        }
+    }
+
+    /**
+     * Adds every remaining entry of the snapshot to map, as if by put. The
+     * table of map is first resized once to fit all of them.
+     *
+     * @param map the map to add the entries to
+     * @throws java.io.IOException                if the file cannot be read
+     *                                            or is truncated
+     * @throws java.lang.IllegalArgumentException if map is null, or if a
+     *                                            block is malformed
+     */
+    public void readInto(LinearProbingHashMap<K, V> map) throws IOException {
+        if (map == null) {
+            throw new IllegalArgumentException("The map cannot be null!!");
+        }
+        map.ensureCapacity((int) Math.min(LinearProbingHashMap.MAXIMUM_CAPACITY,
+                map.size() + this.count - this.read));
+        while (advance()) {
+            map.put(getKey(), getValue());
+        }
+    }
+
+    /**
+     * Loads the snapshot file at path into a new LinearProbingHashMap whose
+     * table is sized for the number of entries in the snapshot.
+     *
+     * @param path       the snapshot file to read
+     * @param keyCodec   the codec of the keys
+     * @param valueCodec the codec of the values
+     * @param <K>        the type of the keys
+     * @param <V>        the type of the values
+     * @return the map holding every entry of the snapshot
+     * @throws java.io.IOException                if the file cannot be read
+     *                                            or is truncated
+     * @throws java.lang.IllegalArgumentException if any argument is null, or
+     *                                            if the file is malformed
+     */
+    public static <K, V> LinearProbingHashMap<K, V> load(Path path, FixedWidthCodec<K> keyCodec,
+                                                         FixedWidthCodec<V> valueCodec)
+            throws IOException {
+        try (LinearProbingHashMapSnapshotReader<K, V> reader =
+                     new LinearProbingHashMapSnapshotReader<>(path, keyCodec, valueCodec)) {
+            LinearProbingHashMap<K, V> map = new LinearProbingHashMap<>();
+            reader.readInto(map);
+            return map;
+        }
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws java.io.IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
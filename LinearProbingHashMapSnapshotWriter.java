@@ -0,0 +1,242 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writer class used for saving the entries of a LinearProbingHashMap to a
+ * compact binary snapshot file.
+ *
+ * The file starts with a header of HEADER_SIZE bytes holding a magic number,
+ * the format version, the key and value widths, the flags, the number of
+ * entries per block and the number of entries. The entries follow in
+ * blocks, each made of the length of its entries in bytes, the number of
+ * bytes stored, and the stored bytes. Every entry is its key followed by its
+ * value, written by their FixedWidthCodec. With compression, a block is
+ * stored compressed by a BlockCompressor unless that does not make it
+ * smaller, which is how the reader tells the two apart.
+ *
+ * Only live entries are written, and hashcodes are not, since the map
+ * recomputes them on load. The snapshot is written to a sibling file that
+ * is atomically moved over path on close, so an interrupted checkpoint
+ * never replaces a previous one.
+ *
+ * @author AKSHAT KARWA
+ */
+public class LinearProbingHashMapSnapshotWriter<K, V> implements Closeable {
+
+    /**
+     * The number of bytes at the start of the file reserved for the header.
+     */
+    public static final int HEADER_SIZE = 32;
+
+    /**
+     * The number of bytes of entries in a full block, rounded down to a
+     * whole number of entries.
+     */
+    public static final int BLOCK_BYTES = 1 << 20;
+
+    static final int MAGIC = 0x4C50534E;
+    static final int VERSION = 1;
+    static final int FLAG_COMPRESSED = 1;
+    static final int BLOCK_HEADER = 8;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int KEY_WIDTH_OFFSET = 8;
+    static final int VALUE_WIDTH_OFFSET = 12;
+    static final int FLAGS_OFFSET = 16;
+    static final int BLOCK_ENTRIES_OFFSET = 20;
+    static final int COUNT_OFFSET = 24;
+
+    private final Path path;
+    private final Path temporary;
+    private final FixedWidthCodec<K> keyCodec;
+    private final FixedWidthCodec<V> valueCodec;
+    private final int entryWidth;
+    private final FileChannel channel;
+    private final ByteBuffer block;
+    private final BlockCompressor compressor;
+    private final byte[] compressed;
+    private final ByteBuffer blockHeader;
+    private long count;
+    private boolean closed;
+
+    /**
+     * Constructs a new LinearProbingHashMapSnapshotWriter that writes
+     * uncompressed blocks.
+     * We use constructor chaining.
+     *
+     * @param path       the snapshot file to write
+     * @param keyCodec   the codec of the keys
+     * @param valueCodec the codec of the values
+     * @throws java.io.IOException if the file cannot be created
+     */
+    public LinearProbingHashMapSnapshotWriter(Path path, FixedWidthCodec<K> keyCodec,
+                                              FixedWidthCodec<V> valueCodec) throws IOException {
+        this(path, keyCodec, valueCodec, false);
+    }
+
+    /**
+     * Constructs a new LinearProbingHashMapSnapshotWriter.
+     *
+     * @param path       the snapshot file to write
+     * @param keyCodec   the codec of the keys
+     * @param valueCodec the codec of the values
+     * @param compress   whether or not to compress the blocks
+     * @throws java.io.IOException                if the file cannot be
+     *                                            created
+     * @throws java.lang.IllegalArgumentException if any argument is null
+     */
+    public LinearProbingHashMapSnapshotWriter(Path path, FixedWidthCodec<K> keyCodec,
+                                              FixedWidthCodec<V> valueCodec,
+                                              boolean compress) throws IOException {
+        if (path == null || keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("The path and codecs cannot be null!!");
+        }
+        this.path = path;
+        this.temporary = path.resolveSibling(path.getFileName() + ".snapshot");
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.entryWidth = keyCodec.width() + valueCodec.width();
+        int blockEntries = Math.max(1, BLOCK_BYTES / this.entryWidth);
+        this.block = ByteBuffer.allocate(blockEntries * this.entryWidth);
+        this.compressor = compress ? new BlockCompressor() : null;
+        this.compressed = compress
+                ? new byte[BlockCompressor.maxCompressedLength(this.block.capacity())] : null;
+        this.blockHeader = ByteBuffer.allocate(BLOCK_HEADER);
+        this.channel = FileChannel.open(this.temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC_OFFSET, MAGIC);
+        header.putInt(VERSION_OFFSET, VERSION);
+        header.putInt(KEY_WIDTH_OFFSET, keyCodec.width());
+        header.putInt(VALUE_WIDTH_OFFSET, valueCodec.width());
+        header.putInt(FLAGS_OFFSET, compress ? FLAG_COMPRESSED : 0);
+        header.putInt(BLOCK_ENTRIES_OFFSET, blockEntries);
+        writeFully(header);
+    }
+
+    /**
+     * Writes one entry to the snapshot.
+     *
+     * @param key   the key of the entry
+     * @param value the value of the entry
+     * @throws java.io.IOException                if the block cannot be
+     *                                            written
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public void write(K key, V value) throws IOException {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key or value is null!!"
+                    + " None of them can be null!!");
+        }
+        if (this.closed) {
+            throw new IOException("The snapshot writer is closed!!");
+        }
+        int offset = this.block.position();
+        this.keyCodec.encode(key, this.block, offset);
+        this.valueCodec.encode(value, this.block, offset + this.keyCodec.width());
+        this.block.position(offset + this.entryWidth);
+        this.count++;
+        if (!this.block.hasRemaining()) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Writes every entry of map to the snapshot, walking its table in place
+     * with a cursor.
+     *
+     * @param map the map to write
+     * @throws java.io.IOException                if a block cannot be written
+     * @throws java.lang.IllegalArgumentException if map is null
+     */
+    public void writeAll(LinearProbingHashMap<K, V> map) throws IOException {
+        if (map == null) {
+            throw new IllegalArgumentException("The map cannot be null!!");
+        }
+        LinearProbingHashMapCursor<K, V> cursor = map.cursor();
+        while (cursor.advance()) {
+            write(cursor.getKey(), cursor.getValue());
+        }
+    }
+
+    /**
+     * Private Helper Method that writes the buffered entries as one block,
+     * compressed if that makes it smaller.
+     *
+     * @throws java.io.IOException if the block cannot be written
+     */
+    private void flushBlock() throws IOException {
+        int length = this.block.position();
+        if (length == 0) {
+            return;
+        }
+        this.block.flip();
+        ByteBuffer stored = this.block;
+        if (this.compressor != null) {
+            int compressedLength = this.compressor.compress(this.block.array(), length, this.compressed);
+            if (compressedLength < length) {
+                stored = ByteBuffer.wrap(this.compressed, 0, compressedLength);
+            }
+        }
+        this.blockHeader.clear();
+        this.blockHeader.putInt(length).putInt(stored.remaining()).flip();
+        writeFully(this.blockHeader);
+        writeFully(stored);
+        this.block.clear();
+    }
+
+    /**
+     * Private Helper Method that writes every remaining byte of buffer to the
+     * end of the file.
+     *
+     * @param buffer is the buffer to write
+     * @throws java.io.IOException if the buffer cannot be written
+     */
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            this.channel.write(buffer);
+        }
+    }
+
+    /**
+     * Returns the number of entries written so far.
+     *
+     * @return the number of entries written
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Writes the last block and the number of entries, flushes the file to
+     * disk and moves it over path.
+     *
+     * @throws java.io.IOException if the file cannot be written or moved
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            flushBlock();
+            ByteBuffer countBuffer = ByteBuffer.allocate(Long.BYTES).putLong(0, this.count);
+            while (countBuffer.hasRemaining()) {
+                this.channel.write(countBuffer, COUNT_OFFSET + countBuffer.position());
+            }
+            this.channel.force(true);
+        } finally {
+            this.channel.close();
+        }
+        Files.move(this.temporary, this.path, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Statistics class used for instrumenting a LinearProbingHashMap.
+ *
+ * The map only creates this when statistics are enabled, so a map without
+ * statistics pays nothing but a null check. Probe lengths are the number of
+ * slots inspected by a lookup, and are counted in a histogram whose last
+ * bucket also holds every longer probe.
+ *
+ * @author AKSHAT KARWA
+ */
+public class LinearProbingHashMapStatistics {
+
+    /**
+     * The number of buckets of the probe-length histograms. Bucket i counts
+     * probes of length i + 1, and the last bucket counts every probe of
+     * length HISTOGRAM_BUCKETS or more.
+     */
+    public static final int HISTOGRAM_BUCKETS = 32;
+
+    private final long[] hitProbes;
+    private final long[] missProbes;
+    private long removals;
+    private long resizes;
+    private long resizeNanos;
+
+    /**
+     * Constructs a new LinearProbingHashMapStatistics with every count at 0.
+     */
+    LinearProbingHashMapStatistics() {
+        this.hitProbes = new long[HISTOGRAM_BUCKETS];
+        this.missProbes = new long[HISTOGRAM_BUCKETS];
+    }
+
+    /**
+     * Records a lookup that found its key.
+     *
+     * @param length the number of slots inspected
+     */
+    void recordHit(int length) {
+        this.hitProbes[bucketOf(length)]++;
+    }
+
+    /**
+     * Records a lookup that did not find its key.
+     *
+     * @param length the number of slots inspected
+     */
+    void recordMiss(int length) {
+        this.missProbes[bucketOf(length)]++;
+    }
+
+    /**
+     * Records the removal of an entry.
+     */
+    void recordRemoval() {
+        this.removals++;
+    }
+
+    /**
+     * Records a resize of the backing table.
+     *
+     * @param nanos the time spent moving entries, in nanoseconds
+     */
+    void recordResize(long nanos) {
+        this.resizes++;
+        this.resizeNanos += nanos;
+    }
+
+    /**
+     * Adds time spent moving entries to the last resize, which is how the
+     * steps of an incremental resize are accounted for.
+     *
+     * @param nanos the time spent moving entries, in nanoseconds
+     */
+    void recordMigration(long nanos) {
+        this.resizeNanos += nanos;
+    }
+
+    /**
+     * Private Helper Method that returns the histogram bucket of a probe
+     * length.
+     *
+     * @param length is the number of slots inspected, at least 1
+     * @return the index of the bucket
+     */
+    private static int bucketOf(int length) {
+        return Math.min(Math.max(length, 1), HISTOGRAM_BUCKETS) - 1;
+    }
+
+    /**
+     * Gets a copy of the histogram of probe lengths of hits.
+     *
+     * @return the hit histogram
+     */
+    long[] getHitProbes() {
+        return hitProbes.clone();
+    }
+
+    /**
+     * Gets a copy of the histogram of probe lengths of misses.
+     *
+     * @return the miss histogram
+     */
+    long[] getMissProbes() {
+        return missProbes.clone();
+    }
+
+    /**
+     * Gets the number of removals.
+     *
+     * @return the number of removals
+     */
+    long getRemovals() {
+        return removals;
+    }
+
+    /**
+     * Gets the number of resizes.
+     *
+     * @return the number of resizes
+     */
+    long getResizes() {
+        return resizes;
+    }
+
+    /**
+     * Gets the total time spent resizing.
+     *
+     * @return the total resize time, in nanoseconds
+     */
+    long getResizeNanos() {
+        return resizeNanos;
+    }
+}
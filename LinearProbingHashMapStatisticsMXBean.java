@@ -0,0 +1,97 @@
+/**
+ * Management interface used for exporting the statistics of a
+ * LinearProbingHashMap through JMX.
+ *
+ * Every attribute is read from a new LinearProbingHashMapStatisticsSnapshot.
+ * The map is not thread-safe, so values read while it is being modified are
+ * only approximate.
+ *
+ * @author AKSHAT KARWA
+ */
+public interface LinearProbingHashMapStatisticsMXBean {
+
+    /**
+     * Gets the histogram of probe lengths of lookups that found their key.
+     *
+     * @return the hit histogram
+     */
+    long[] getHitProbeHistogram();
+
+    /**
+     * Gets the histogram of probe lengths of lookups that did not find
+     * their key.
+     *
+     * @return the miss histogram
+     */
+    long[] getMissProbeHistogram();
+
+    /**
+     * Gets the mean probe length of hits.
+     *
+     * @return the mean hit probe length
+     */
+    double getMeanHitProbeLength();
+
+    /**
+     * Gets the mean probe length of misses.
+     *
+     * @return the mean miss probe length
+     */
+    double getMeanMissProbeLength();
+
+    /**
+     * Gets the length of the longest run of occupied slots.
+     *
+     * @return the max cluster length
+     */
+    int getMaxClusterLength();
+
+    /**
+     * Gets the number of tombstones in the backing table.
+     *
+     * @return the tombstone count
+     */
+    int getTombstoneCount();
+
+    /**
+     * Gets the number of removals.
+     *
+     * @return the removal count
+     */
+    long getRemovalCount();
+
+    /**
+     * Gets the number of resizes.
+     *
+     * @return the resize count
+     */
+    long getResizeCount();
+
+    /**
+     * Gets the total time spent resizing.
+     *
+     * @return the total resize time, in nanoseconds
+     */
+    long getTotalResizeNanos();
+
+    /**
+     * Gets the number of entries divided by the length of the backing table.
+     *
+     * @return the load factor
+     */
+    double getLoadFactor();
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return the size of the map
+     */
+    int getSize();
+
+    /**
+     * Gets the length of the backing table.
+     *
+     * @return the capacity of the map
+     */
+    int getCapacity();
+}
@@ -0,0 +1,131 @@
+/**
+ * Snapshot class holding the statistics of a LinearProbingHashMap at one
+ * point in time.
+ *
+ * The counters are copied from the statistics of the map, and the max
+ * cluster length and load factor are computed from its backing table when
+ * the snapshot is taken. The map uses backward-shift deletion, so it never
+ * leaves tombstones behind and the tombstone count is always 0; it is
+ * reported so the snapshot can be compared with maps that do.
+ *
+ * @author AKSHAT KARWA
+ */
+public class LinearProbingHashMapStatisticsSnapshot
+        implements LinearProbingHashMapStatisticsMXBean {
+
+    private final long[] hitProbeHistogram;
+    private final long[] missProbeHistogram;
+    private final int maxClusterLength;
+    private final long removalCount;
+    private final long resizeCount;
+    private final long totalResizeNanos;
+    private final int size;
+    private final int capacity;
+
+    /**
+     * Constructs a new LinearProbingHashMapStatisticsSnapshot.
+     *
+     * @param statistics       the statistics of the map
+     * @param maxClusterLength the length of the longest run of occupied
+     *                         slots
+     * @param size             the number of entries
+     * @param capacity         the length of the backing table
+     */
+    LinearProbingHashMapStatisticsSnapshot(LinearProbingHashMapStatistics statistics,
+                                           int maxClusterLength, int size, int capacity) {
+        this.hitProbeHistogram = statistics.getHitProbes();
+        this.missProbeHistogram = statistics.getMissProbes();
+        this.maxClusterLength = maxClusterLength;
+        this.removalCount = statistics.getRemovals();
+        this.resizeCount = statistics.getResizes();
+        this.totalResizeNanos = statistics.getResizeNanos();
+        this.size = size;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public long[] getHitProbeHistogram() {
+        return hitProbeHistogram.clone();
+    }
+
+    @Override
+    public long[] getMissProbeHistogram() {
+        return missProbeHistogram.clone();
+    }
+
+    @Override
+    public double getMeanHitProbeLength() {
+        return mean(hitProbeHistogram);
+    }
+
+    @Override
+    public double getMeanMissProbeLength() {
+        return mean(missProbeHistogram);
+    }
+
+    /**
+     * Private Helper Method that returns the mean probe length of a
+     * histogram, counting the last bucket at its lower bound.
+     *
+     * @param histogram is the probe-length histogram
+     * @return the mean probe length, or 0 if the histogram is empty
+     */
+    private static double mean(long[] histogram) {
+        long count = 0;
+        long total = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            count += histogram[i];
+            total += histogram[i] * (i + 1);
+        }
+        return (count == 0) ? 0 : (double) total / count;
+    }
+
+    @Override
+    public int getMaxClusterLength() {
+        return maxClusterLength;
+    }
+
+    @Override
+    public int getTombstoneCount() {
+        return 0;
+    }
+
+    @Override
+    public long getRemovalCount() {
+        return removalCount;
+    }
+
+    @Override
+    public long getResizeCount() {
+        return resizeCount;
+    }
+
+    @Override
+    public long getTotalResizeNanos() {
+        return totalResizeNanos;
+    }
+
+    @Override
+    public double getLoadFactor() {
+        return (double) size / capacity;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(size=%d, capacity=%d, loadFactor=%.3f, meanHitProbe=%.3f,"
+                        + " meanMissProbe=%.3f, maxCluster=%d, removals=%d, resizes=%d,"
+                        + " resizeNanos=%d)", size, capacity, getLoadFactor(),
+                getMeanHitProbeLength(), getMeanMissProbeLength(), maxClusterLength,
+                removalCount, resizeCount, totalResizeNanos);
+    }
+}
@@ -0,0 +1,292 @@
+import java.util.NoSuchElementException;
+
+/**
+ * My implementation of a LinearProbingHashMap specialized for long keys.
+ *
+ * Keys are kept in a long array parallel to the array of values, so a
+ * mapping costs no key or entry objects. Since values can never be null, a
+ * null value is the sentinel for an empty slot and every long is a valid key.
+ * Removed slots are filled in by shifting the rest of the cluster backwards,
+ * so no removed markers are ever left in the table.
+ *
+ * @author AKSHAT KARWA
+ */
+public class LongObjectLinearProbingMap<V> {
+
+    /**
+     * The initial capacity of the LongObjectLinearProbingMap when created
+     * with the default constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The largest power of two that can be used as the length of the
+     * backing arrays.
+     */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The max load factor of the LongObjectLinearProbingMap.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.67;
+
+    private long[] keys;
+    private V[] values;
+    private int size;
+
+    /**
+     * Constructs a new LongObjectLinearProbingMap.
+     * The backing arrays have an initial capacity of INITIAL_CAPACITY.
+     * We use constructor chaining.
+     */
+    public LongObjectLinearProbingMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new LongObjectLinearProbingMap.
+     * The backing arrays have an initial capacity of initialCapacity rounded
+     * up to the next power of two.
+     * initialCapacity is a non-negative integer.
+     *
+     * @param initialCapacity the initial capacity of the backing arrays
+     */
+    public LongObjectLinearProbingMap(int initialCapacity) {
+        int length = tableSizeFor(initialCapacity);
+        this.keys = new long[length];
+        this.values = (V[]) new Object[length];
+        this.size = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If the map already has this
+     * key, we replace its value with the new one passed in.
+     *
+     * In the case of a collision, we use linear probing as our resolution
+     * strategy. Before adding any data, we resize the backing arrays to
+     * 2 * old length if the max load factor would be violated.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if value is null
+     * @throws java.lang.IllegalStateException    if the backing arrays are
+     *                                            full and already
+     *                                            MAXIMUM_CAPACITY long
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value is null!! It cannot be null!!");
+        }
+        if ((this.size + 1) > (MAX_LOAD_FACTOR * this.keys.length)
+                && this.keys.length < MAXIMUM_CAPACITY) {
+            resizeBackingTable(2 * this.keys.length);
+        }
+        int mask = this.keys.length - 1;
+        int index = spread(key) & mask;
+        int counter = 0;
+        while (this.values[index] != null && counter != this.keys.length) {
+            if (this.keys[index] == key) {
+                V old = this.values[index];
+                this.values[index] = value;
+                return old;
+            }
+            index = (index + 1) & mask;
+            counter++;
+        }
+        if (this.values[index] != null) {
+            if (this.keys.length == MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("The map is full!!");
+            }
+            resizeBackingTable(2 * this.keys.length);
+            return put(key, value);
+        }
+        this.keys[index] = key;
+        this.values[index] = value;
+        this.size++;
+        return null;
+    }
+
+    /**
+     * Removes the mapping for the given key. The rest of the cluster is
+     * shifted backwards into the freed slot.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V remove(long key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("The key is not in the map!!");
+        }
+        V removed = this.values[index];
+        int mask = this.keys.length - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        int counter = 1;
+        while (this.values[next] != null && counter != this.keys.length) {
+            int home = spread(this.keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.keys[hole] = this.keys[next];
+                this.values[hole] = this.values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+            counter++;
+        }
+        this.keys[hole] = 0L;
+        this.values[hole] = null;
+        this.size--;
+        return removed;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V get(long key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("The key is not in the map!!");
+        }
+        return this.values[index];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     */
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Private Helper Method that finds the slot holding key.
+     *
+     * @param key is the key to search for
+     * @return the index of the key in the backing arrays, or -1 if absent
+     */
+    private int indexOf(long key) {
+        int mask = this.keys.length - 1;
+        int index = spread(key) & mask;
+        int counter = 0;
+        while (this.values[index] != null && counter != this.keys.length) {
+            if (this.keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+            counter++;
+        }
+        return -1;
+    }
+
+    /**
+     * Resizes the backing arrays to length, rounded up to the next power of
+     * two. Entries are reinserted in order of increasing index.
+     *
+     * @param length new length of the backing arrays
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < this.size) {
+            throw new IllegalArgumentException("Length of HashMap cannot be less"
+                    + "than the number of items!!");
+        }
+        long[] newKeys = new long[tableSizeFor(length)];
+        V[] newValues = (V[]) new Object[newKeys.length];
+        int mask = newKeys.length - 1;
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.values[i] != null) {
+                int index = spread(this.keys[i]) & mask;
+                while (newValues[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                newKeys[index] = this.keys[i];
+                newValues[index] = this.values[i];
+            }
+        }
+        this.keys = newKeys;
+        this.values = newValues;
+    }
+
+    /**
+     * Private Helper Method that mixes the bits of a key using the murmur3
+     * fmix64 finalizer and folds it down to an int.
+     *
+     * @param key is the key to spread.
+     * @return returns the spread key.
+     */
+    private static int spread(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * Private Helper Method that returns the smallest power of two greater
+     * than or equal to capacity, clamped to [1, MAXIMUM_CAPACITY].
+     *
+     * @param capacity is the requested capacity.
+     * @return returns the power of two length to use for the backing arrays.
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Clears the map.
+     * Resets the backing arrays to new arrays of the INITIAL_CAPACITY and
+     * resets the size.
+     */
+    public void clear() {
+        this.keys = new long[INITIAL_CAPACITY];
+        this.values = (V[]) new Object[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the backing array of keys. Slots whose value is null are empty.
+     *
+     * @return the backing array of keys
+     */
+    public long[] getKeys() {
+        return keys;
+    }
+
+    /**
+     * Returns the backing array of values. Empty slots hold null.
+     *
+     * @return the backing array of values
+     */
+    public V[] getValues() {
+        return values;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,617 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * My implementation of a LinearProbingHashMap whose table lives in a
+ * memory-mapped file instead of on the Java heap.
+ *
+ * Every slot has the same width: a state byte, the spread hashcode of the
+ * key, then the key and the value written by their FixedWidthCodec. Since the
+ * table is the file, reopening a map only maps the file again, instead of
+ * replaying every put. Keys must have a hashCode that is stable across JVM
+ * runs (e.g. String, Integer or Long).
+ *
+ * The file starts with a header of HEADER_SIZE bytes holding a magic number,
+ * the format version, the key and value widths, the capacity and the size.
+ * The table is mapped in segments of a power of two number of slots, each
+ * less than 2GB long, so the table itself can be larger than 2GB.
+ *
+ * @author AKSHAT KARWA
+ */
+public class MappedLinearProbingHashMap<K, V> implements Closeable {
+
+    /**
+     * The initial capacity of a MappedLinearProbingHashMap whose file is
+     * created with the default capacity.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The largest power of two that can be used as the capacity of the
+     * table.
+     */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The max load factor of the MappedLinearProbingHashMap.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.67;
+
+    /**
+     * The number of bytes at the start of the file reserved for the header.
+     */
+    public static final int HEADER_SIZE = 64;
+
+    private static final int MAGIC = 0x4C50484D;
+    private static final int VERSION = 1;
+    private static final int MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+    private static final int SLOT_HEADER = 5;
+    private static final byte EMPTY = 0;
+    private static final byte FULL = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int KEY_WIDTH_OFFSET = 8;
+    private static final int VALUE_WIDTH_OFFSET = 12;
+    private static final int CAPACITY_OFFSET = 16;
+    private static final int SIZE_OFFSET = 20;
+
+    private final Path path;
+    private final FixedWidthCodec<K> keyCodec;
+    private final FixedWidthCodec<V> valueCodec;
+    private final int slotWidth;
+    private final int segmentShift;
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer[] segments;
+    private int capacity;
+    private int size;
+
+    /**
+     * Opens the map stored in the file at path, or creates it with a
+     * capacity of INITIAL_CAPACITY if the file does not exist.
+     * We use constructor chaining.
+     *
+     * @param path       the file backing the map
+     * @param keyCodec   the codec of the keys
+     * @param valueCodec the codec of the values
+     * @throws java.io.IOException if the file cannot be opened or mapped
+     */
+    public MappedLinearProbingHashMap(Path path, FixedWidthCodec<K> keyCodec,
+                                      FixedWidthCodec<V> valueCodec) throws IOException {
+        this(path, keyCodec, valueCodec, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Opens the map stored in the file at path, or creates it with a
+     * capacity of initialCapacity rounded up to the next power of two if the
+     * file does not exist. The capacity of an existing file is kept.
+     *
+     * @param path            the file backing the map
+     * @param keyCodec        the codec of the keys
+     * @param valueCodec      the codec of the values
+     * @param initialCapacity the capacity of the table of a new file
+     * @throws java.io.IOException                if the file cannot be opened
+     *                                            or mapped
+     * @throws java.lang.IllegalArgumentException if any argument is null, or
+     *                                            if the file was written with
+     *                                            different codec widths
+     */
+    public MappedLinearProbingHashMap(Path path, FixedWidthCodec<K> keyCodec,
+                                      FixedWidthCodec<V> valueCodec,
+                                      int initialCapacity) throws IOException {
+        if (path == null || keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("The path and codecs cannot be null!!");
+        }
+        this.path = path;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.slotWidth = SLOT_HEADER + keyCodec.width() + valueCodec.width();
+        this.segmentShift = 31 - Integer.numberOfLeadingZeros(MAX_SEGMENT_BYTES / this.slotWidth);
+        if (Files.exists(path) && Files.size(path) >= HEADER_SIZE) {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.header = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (this.header.getInt(MAGIC_OFFSET) != MAGIC
+                    || this.header.getInt(VERSION_OFFSET) != VERSION) {
+                this.channel.close();
+                throw new IllegalArgumentException("The file is not a MappedLinearProbingHashMap!!");
+            }
+            if (this.header.getInt(KEY_WIDTH_OFFSET) != keyCodec.width()
+                    || this.header.getInt(VALUE_WIDTH_OFFSET) != valueCodec.width()) {
+                this.channel.close();
+                throw new IllegalArgumentException("The file was written with different codecs!!");
+            }
+            this.capacity = this.header.getInt(CAPACITY_OFFSET);
+            this.size = this.header.getInt(SIZE_OFFSET);
+            this.segments = mapSegments(this.channel, this.capacity);
+        } else {
+            this.channel = createFile(path, tableSizeFor(initialCapacity));
+            this.header = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            this.capacity = this.header.getInt(CAPACITY_OFFSET);
+            this.size = 0;
+            this.segments = mapSegments(this.channel, this.capacity);
+        }
+    }
+
+    /**
+     * Private Helper Method that creates a file holding an empty table of
+     * the given capacity, replacing any existing file.
+     *
+     * @param file     is the file to create
+     * @param capacity is the capacity of the table, a power of two
+     * @return an open channel to the new file
+     * @throws java.io.IOException if the file cannot be written
+     */
+    private FileChannel createFile(Path file, int capacity) throws IOException {
+        FileChannel newChannel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            writeEmptyTable(newChannel, capacity);
+        } catch (IOException e) {
+            newChannel.close();
+            throw e;
+        }
+        return newChannel;
+    }
+
+    /**
+     * Private Helper Method that writes the header of an empty table of the
+     * given capacity to a new file, and extends the file to fit the table.
+     *
+     * @param newChannel is the channel to the new file
+     * @param capacity   is the capacity of the table, a power of two
+     * @throws java.io.IOException if the file cannot be written
+     */
+    private void writeEmptyTable(FileChannel newChannel, int capacity) throws IOException {
+        ByteBuffer newHeader = ByteBuffer.allocate(HEADER_SIZE);
+        newHeader.putInt(MAGIC_OFFSET, MAGIC);
+        newHeader.putInt(VERSION_OFFSET, VERSION);
+        newHeader.putInt(KEY_WIDTH_OFFSET, this.keyCodec.width());
+        newHeader.putInt(VALUE_WIDTH_OFFSET, this.valueCodec.width());
+        newHeader.putInt(CAPACITY_OFFSET, capacity);
+        newHeader.putInt(SIZE_OFFSET, 0);
+        while (newHeader.hasRemaining()) {
+            newChannel.write(newHeader, newHeader.position());
+        }
+        newChannel.truncate(HEADER_SIZE);
+        ByteBuffer last = ByteBuffer.allocate(1);
+        newChannel.write(last, HEADER_SIZE + ((long) capacity * this.slotWidth) - 1);
+    }
+
+    /**
+     * Private Helper Method that maps the table of the file in segments.
+     *
+     * @param fileChannel is the channel to the file
+     * @param slots       is the capacity of the table
+     * @return the mapped segments, in order
+     * @throws java.io.IOException if the file cannot be mapped
+     */
+    private MappedByteBuffer[] mapSegments(FileChannel fileChannel, int slots) throws IOException {
+        int slotsPerSegment = 1 << this.segmentShift;
+        int count = (int) (((long) slots + slotsPerSegment - 1) / slotsPerSegment);
+        MappedByteBuffer[] mapped = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long first = (long) i * slotsPerSegment;
+            long length = Math.min(slotsPerSegment, slots - first) * this.slotWidth;
+            mapped[i] = fileChannel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_SIZE + (first * this.slotWidth), length);
+        }
+        return mapped;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If the map already has this
+     * key, we replace its value with the new one passed in.
+     *
+     * In the case of a collision, we use linear probing as our resolution
+     * strategy. Before adding any data, we resize the table to
+     * 2 * old capacity if the max load factor would be violated.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     * @throws java.io.UncheckedIOException       if a resize fails
+     * @throws java.lang.IllegalStateException     if the table is full and
+     *                                            already MAXIMUM_CAPACITY
+     *                                            slots long
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key or value is null!!"
+                    + " None of them can be null!!");
+        }
+        if ((this.size + 1) > (MAX_LOAD_FACTOR * this.capacity)
+                && this.capacity < MAXIMUM_CAPACITY) {
+            resizeBackingTable(2 * this.capacity);
+        }
+        int hash = spread(key.hashCode());
+        int mask = this.capacity - 1;
+        int index = hash & mask;
+        int counter = 0;
+        while (segment(index).get(offset(index)) == FULL && counter != this.capacity) {
+            if (matches(index, hash, key)) {
+                V old = readValue(index);
+                this.valueCodec.encode(value, segment(index), offset(index) + SLOT_HEADER
+                        + this.keyCodec.width());
+                return old;
+            }
+            index = ((index + 1) & mask);
+            counter++;
+        }
+        if (segment(index).get(offset(index)) == FULL) {
+            if (this.capacity == MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("The map is full!!");
+            }
+            resizeBackingTable(2 * this.capacity);
+            return put(key, value);
+        }
+        writeSlot(this.segments, index, hash, key, value);
+        this.size++;
+        this.header.putInt(SIZE_OFFSET, this.size);
+        return null;
+    }
+
+    /**
+     * Removes the mapping for the given key. The rest of the cluster is
+     * shifted backwards into the freed slot.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key cannot be null!!");
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("The key is not in the map!!");
+        }
+        V removed = readValue(index);
+        int mask = this.capacity - 1;
+        int hole = index;
+        int next = ((hole + 1) & mask);
+        int counter = 1;
+        while (segment(next).get(offset(next)) == FULL && counter != this.capacity) {
+            int home = segment(next).getInt(offset(next) + 1) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                copySlot(next, hole);
+                hole = next;
+            }
+            next = ((next + 1) & mask);
+            counter++;
+        }
+        segment(hole).put(offset(hole), EMPTY);
+        this.size--;
+        this.header.putInt(SIZE_OFFSET, this.size);
+        return removed;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key cannot be null!!");
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("The key is not in the map!!");
+        }
+        return readValue(index);
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null!!");
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Private Helper Method that finds the slot holding key.
+     *
+     * @param key is the key to search for
+     * @return the index of the slot holding key, or -1 if it is absent
+     */
+    private int indexOf(K key) {
+        int hash = spread(key.hashCode());
+        int mask = this.capacity - 1;
+        int index = hash & mask;
+        int counter = 0;
+        while (segment(index).get(offset(index)) == FULL && counter != this.capacity) {
+            if (matches(index, hash, key)) {
+                return index;
+            }
+            index = ((index + 1) & mask);
+            counter++;
+        }
+        return -1;
+    }
+
+    /**
+     * Private Helper Method that checks whether the full slot at index holds
+     * key. The stored hashcodes are compared before any key is decoded.
+     *
+     * @param index is the index of a full slot
+     * @param hash  is the spread hashcode of key
+     * @param key   is the key to compare with
+     * @return true if the slot holds key, false otherwise
+     */
+    private boolean matches(int index, int hash, K key) {
+        ByteBuffer buffer = segment(index);
+        int offset = offset(index);
+        return buffer.getInt(offset + 1) == hash
+                && this.keyCodec.decode(buffer, offset + SLOT_HEADER).equals(key);
+    }
+
+    /**
+     * Private Helper Method that decodes the value of the slot at index.
+     *
+     * @param index is the index of a full slot
+     * @return the value stored in the slot
+     */
+    private V readValue(int index) {
+        return this.valueCodec.decode(segment(index), offset(index) + SLOT_HEADER
+                + this.keyCodec.width());
+    }
+
+    /**
+     * Private Helper Method that fills the slot at index of a table.
+     *
+     * @param table is the segments of the table to write to
+     * @param index is the index of the slot
+     * @param hash  is the spread hashcode of key
+     * @param key   is the key to write
+     * @param value is the value to write
+     */
+    private void writeSlot(MappedByteBuffer[] table, int index, int hash, K key, V value) {
+        ByteBuffer buffer = table[index >>> this.segmentShift];
+        int offset = offset(index);
+        buffer.putInt(offset + 1, hash);
+        this.keyCodec.encode(key, buffer, offset + SLOT_HEADER);
+        this.valueCodec.encode(value, buffer, offset + SLOT_HEADER + this.keyCodec.width());
+        buffer.put(offset, FULL);
+    }
+
+    /**
+     * Private Helper Method that copies the bytes of slot from into slot to.
+     *
+     * @param from is the index of the slot to copy
+     * @param to   is the index of the slot to overwrite
+     */
+    private void copySlot(int from, int to) {
+        ByteBuffer source = segment(from);
+        ByteBuffer target = segment(to);
+        int sourceOffset = offset(from);
+        int targetOffset = offset(to);
+        for (int i = 0; i < this.slotWidth; i++) {
+            target.put(targetOffset + i, source.get(sourceOffset + i));
+        }
+    }
+
+    /**
+     * Private Helper Method that returns the segment holding slot index.
+     *
+     * @param index is the index of the slot
+     * @return the mapped segment holding the slot
+     */
+    private MappedByteBuffer segment(int index) {
+        return this.segments[index >>> this.segmentShift];
+    }
+
+    /**
+     * Private Helper Method that returns the offset of slot index within its
+     * segment.
+     *
+     * @param index is the index of the slot
+     * @return the offset of the first byte of the slot
+     */
+    private int offset(int index) {
+        return (index & ((1 << this.segmentShift) - 1)) * this.slotWidth;
+    }
+
+    /**
+     * Resizes the table to length, rounded up to the next power of two.
+     *
+     * The entries are rehashed into a new file next to the current one,
+     * which is then flushed and atomically moved over the current file, so
+     * the file at path always holds a complete table.
+     *
+     * @param length new capacity of the table
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the map
+     * @throws java.io.UncheckedIOException       if the new file cannot be
+     *                                            written
+     */
+    public void resizeBackingTable(int length) {
+        if (length < this.size) {
+            throw new IllegalArgumentException("Length of HashMap cannot be less"
+                    + "than the number of items!!");
+        }
+        int newCapacity = tableSizeFor(length);
+        Path resized = this.path.resolveSibling(this.path.getFileName() + ".resize");
+        FileChannel newChannel = null;
+        try {
+            newChannel = createFile(resized, newCapacity);
+            MappedByteBuffer newHeader = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            MappedByteBuffer[] newSegments = mapSegments(newChannel, newCapacity);
+            int mask = newCapacity - 1;
+            for (int i = 0; i < this.capacity; i++) {
+                ByteBuffer source = segment(i);
+                int sourceOffset = offset(i);
+                if (source.get(sourceOffset) == FULL) {
+                    int index = source.getInt(sourceOffset + 1) & mask;
+                    while (newSegments[index >>> this.segmentShift].get(offset(index)) == FULL) {
+                        index = ((index + 1) & mask);
+                    }
+                    ByteBuffer target = newSegments[index >>> this.segmentShift];
+                    int targetOffset = offset(index);
+                    for (int b = 0; b < this.slotWidth; b++) {
+                        target.put(targetOffset + b, source.get(sourceOffset + b));
+                    }
+                }
+            }
+            newHeader.putInt(SIZE_OFFSET, this.size);
+            for (MappedByteBuffer segment : newSegments) {
+                segment.force();
+            }
+            newHeader.force();
+            this.channel.close();
+            Files.move(resized, this.path, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            this.channel = newChannel;
+            this.header = newHeader;
+            this.segments = newSegments;
+            this.capacity = newCapacity;
+        } catch (IOException e) {
+            discardResize(newChannel, resized, e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            discardResize(newChannel, resized, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Private Helper Method that closes the channel of a failed resize and
+     * deletes its file. Failures to do so are added to the failure of the
+     * resize, which is the one that gets thrown.
+     *
+     * @param newChannel is the channel of the new file, or null if it was
+     *                   never opened
+     * @param resized    is the new file
+     * @param failure    is the failure of the resize
+     */
+    private static void discardResize(FileChannel newChannel, Path resized, Exception failure) {
+        try {
+            if (newChannel != null) {
+                newChannel.close();
+            }
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+        try {
+            Files.deleteIfExists(resized);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Private Helper Method that mixes the bits of a hashcode using the
+     * murmur3 fmix32 finalizer.
+     *
+     * @param keyHashcode is the raw integer hashcode value of the key.
+     * @return returns the spread hashcode.
+     */
+    private static int spread(int keyHashcode) {
+        int h = keyHashcode;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Private Helper Method that returns the smallest power of two greater
+     * than or equal to capacity, clamped to [1, MAXIMUM_CAPACITY].
+     *
+     * @param capacity is the requested capacity.
+     * @return returns the power of two length to use for the table.
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Clears the map.
+     * Replaces the file with an empty table of the INITIAL_CAPACITY.
+     *
+     * @throws java.io.UncheckedIOException if the file cannot be rewritten
+     */
+    public void clear() {
+        try {
+            this.channel.close();
+            this.channel = createFile(this.path, INITIAL_CAPACITY);
+            this.header = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            this.capacity = INITIAL_CAPACITY;
+            this.size = 0;
+            this.segments = mapSegments(this.channel, this.capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes every change to the table and header to the file.
+     */
+    public void force() {
+        for (MappedByteBuffer segment : this.segments) {
+            segment.force();
+        }
+        this.header.force();
+    }
+
+    /**
+     * Flushes the map to its file and closes the file.
+     *
+     * @throws java.io.IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        this.channel.close();
+    }
+
+    /**
+     * Returns the capacity of the table.
+     *
+     * @return the number of slots of the table
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -3,6 +3,15 @@ import java.util.NoSuchElementException;
 /**
  * My implementation of a MinHeap.
  *
+ * The heap is d-ary: every node has up to arity children, which is 2 by
+ * default. Index 0 of the backing array is unused, the children of index i
+ * are d(i - 1) + 2 to d(i - 1) + d + 1, and the parent of index i is
+ * (i - 2) / d + 1, which for d = 2 is the usual 2i, 2i + 1 and i / 2. A
+ * larger arity makes the heap shallower, and the children that downHeap
+ * compares are next to each other in memory, so with an arity of 4 or 8
+ * each level of a remove touches about one cache line instead of jumping
+ * across the array.
+ *
  * @author Akshat Karwa
  */
 public class MinHeap<T extends Comparable<? super T>> {
@@ -13,19 +22,52 @@ public class MinHeap<T extends Comparable<? super T>> {
      */
     public static final int INITIAL_CAPACITY = 13;
 
+    /**
+     * The arity of the MinHeap when created without one.
+     */
+    public static final int DEFAULT_ARITY = 2;
+
     private T[] backingArray;
     private int size;
+    private final int arity;
+
+    /**
+     * Constructs a new binary MinHeap.
+     * We use constructor chaining.
+     */
+    public MinHeap() {
+        this(DEFAULT_ARITY);
+    }
 
     /**
-     * Constructs a new MinHeap.
+     * Constructs a new MinHeap where every node has up to arity children.
      *
      * The backing array has an initial capacity of INITIAL_CAPACITY.
      * To initialize the backing array, we create a Comparable array and then cast
      * it to a T array.
+     *
+     * @param arity the number of children of every node
+     * @throws java.lang.IllegalArgumentException if arity is less than 2
      */
-    public MinHeap() {
+    public MinHeap(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("The arity must be at least 2!!");
+        }
         this.backingArray = (T[]) new Comparable[INITIAL_CAPACITY];
         this.size = 0;
+        this.arity = arity;
+    }
+
+    /**
+     * Creates a properly ordered binary heap from a set of initial values.
+     * We use constructor chaining.
+     *
+     * @param data a list of data to initialize the heap with
+     * @throws java.lang.IllegalArgumentException if data or any element in data
+     *                                            is null
+     */
+    public MinHeap(ArrayList<T> data) {
+        this(data, DEFAULT_ARITY);
     }
 
     /**
@@ -42,11 +84,17 @@ public class MinHeap<T extends Comparable<? super T>> {
      * remains empty, indices 1 to n contain the data in proper order, and
      * the rest of the indices are empty.
      *
-     * @param data a list of data to initialize the heap with
+     * @param data  a list of data to initialize the heap with
+     * @param arity the number of children of every node
      * @throws java.lang.IllegalArgumentException if data or any element in data
-     *                                            is null
+     *                                            is null, or if arity is less
+     *                                            than 2
      */
-    public MinHeap(ArrayList<T> data) {
+    public MinHeap(ArrayList<T> data, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("The arity must be at least 2!!");
+        }
+        this.arity = arity;
         if (data == null) {
             throw new IllegalArgumentException("The arrayList of data is null. There is no data to add!");
         }
@@ -61,42 +109,52 @@ public class MinHeap<T extends Comparable<? super T>> {
             this.backingArray[index + 1] = dataToAdd;
             this.size++;
         }
-        for (int pIndex = (this.size / 2); pIndex >= 1; pIndex--) {
+        for (int pIndex = (this.size > 1) ? parent(this.size) : 0; pIndex >= 1; pIndex--) {
             downHeap(pIndex);
         }
     }
 
     /**
-     * Private helper method that takes in the index of the parent,
-     * and if any child is smaller than the parent, swaps the child
-     * and the parent. Accounts for both cases: one child and two children.
+     * Private helper method that returns the index of the parent of index.
+     *
+     * @param index is the index of a node other than the root
+     * @return the index of its parent
+     */
+    private int parent(int index) {
+        return (index - 2) / this.arity + 1;
+    }
+
+    /**
+     * Private helper method that takes in the index of the parent, and moves
+     * its data down until no child is smaller.
      *
-     * Compares left and right child to know the smaller child and then swaps
-     * with the parent, if parent is larger.
+     * At every level, we find the smallest of the up to arity children, which
+     * are next to each other in the backingArray. Instead of swapping, the
+     * data is held aside and the smallest child is moved up into the hole,
+     * so each level costs one write. The data is stored once, in the final
+     * hole.
      *
      * @param index is the index of the parent in the backingArray
      */
     private void downHeap(int index) {
-        int lChild = 2 * index;
-        int rChild = (2 * index) + 1;
-        int child;
-        if (rChild != (this.size + 1)) {
-            if (this.backingArray[lChild].compareTo(this.backingArray[rChild]) < 0) {
-                child = lChild;
-            } else {
-                child = rChild;
+        T data = this.backingArray[index];
+        int firstChild = this.arity * (index - 1) + 2;
+        while (firstChild <= this.size) {
+            int lastChild = Math.min(firstChild + this.arity - 1, this.size);
+            int child = firstChild;
+            for (int sibling = firstChild + 1; sibling <= lastChild; sibling++) {
+                if (this.backingArray[sibling].compareTo(this.backingArray[child]) < 0) {
+                    child = sibling;
+                }
             }
-        } else {
-            child = lChild;
-        }
-        if (this.backingArray[child].compareTo(this.backingArray[index]) < 0) {
-            T temp = this.backingArray[index];
-            this.backingArray[index] = this.backingArray[child];
-            this.backingArray[child] = temp;
-            if (this.size >= (2 * child)) {
-                downHeap(child);
+            if (this.backingArray[child].compareTo(data) >= 0) {
+                break;
             }
+            this.backingArray[index] = this.backingArray[child];
+            index = child;
+            firstChild = this.arity * (index - 1) + 2;
         }
+        this.backingArray[index] = data;
     }
 
     /**
@@ -119,31 +177,28 @@ public class MinHeap<T extends Comparable<? super T>> {
             }
             this.backingArray = newArray;
         }
-        this.backingArray[this.size + 1] = data;
         this.size++;
-        if (this.size > 1) {
-            upHeap(this.size);
-        }
+        upHeap(this.size, data);
     }
 
     /**
-     * Private recursive helper method that takes in the index of the child,
-     * and if the parent is larger than the child, swaps the child
-     * and the parent, till the order property of the binary heap is maintained.
-     * UpHeaps if child is smaller.
+     * Private helper method that takes in the index of an empty slot, and
+     * moves larger parents down into it until the order property of the
+     * heap is maintained for data, which is then stored in the final hole.
      *
-     * @param index is the index of the child in the backingArray
-     */
-    private void upHeap(int index) {
-        int parent = index / 2;
-        if (this.backingArray[index].compareTo(this.backingArray[parent]) < 0) {
-            T temp = this.backingArray[parent];
-            this.backingArray[parent] = this.backingArray[index];
-            this.backingArray[index] = temp;
-            if (parent > 1) {
-                upHeap(parent);
+     * @param index is the index of the hole in the backingArray
+     * @param data  is the data to store
+     */
+    private void upHeap(int index, T data) {
+        while (index > 1) {
+            int parent = parent(index);
+            if (data.compareTo(this.backingArray[parent]) >= 0) {
+                break;
             }
+            this.backingArray[index] = this.backingArray[parent];
+            index = parent;
         }
+        this.backingArray[index] = data;
     }
 
     /**
@@ -174,6 +229,30 @@ public class MinHeap<T extends Comparable<? super T>> {
         return removed;
     }
 
+    /**
+     * Replaces the min item of the heap with data and returns the old min.
+     * This is the same as a remove followed by an add, but data is moved
+     * down from the root in a single downHeap instead of being moved up from
+     * the bottom after the last item was moved down.
+     *
+     * @param data the data to add
+     * @return the data that was removed
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.util.NoSuchElementException   if the heap is empty
+     */
+    public T replaceMin(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data to add cannot be null!!");
+        }
+        if (this.size == 0) {
+            throw new NoSuchElementException("The heap is empty. There is no element to replace!!");
+        }
+        T removed = this.backingArray[1];
+        this.backingArray[1] = data;
+        downHeap(1);
+        return removed;
+    }
+
     /**
      * Returns the minimum element in the heap.
      *
@@ -206,6 +285,15 @@ public class MinHeap<T extends Comparable<? super T>> {
         this.size = 0;
     }
 
+    /**
+     * Returns the number of children of every node.
+     *
+     * @return the arity of the heap
+     */
+    public int getArity() {
+        return arity;
+    }
+
     /**
      * Returns the backing array of the heap.
      * 
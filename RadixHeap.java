@@ -0,0 +1,273 @@
+import java.util.NoSuchElementException;
+/**
+ * My implementation of a radix heap, a priority queue for monotone long
+ * keys.
+ *
+ * A radix heap can only be used when keys never go below the key of the
+ * last removed item, as in Dijkstra's algorithm or an event simulation. It
+ * then keeps its items in BUCKETS buckets by how many bits their key shares
+ * with the last removed key: bucket 0 holds the keys equal to it, and
+ * bucket i holds the keys whose highest differing bit is bit i - 1. Every
+ * key in a bucket is smaller than every key in a higher bucket, so adding
+ * is a bit count and an append, with no comparisons at all.
+ *
+ * Removing takes from bucket 0. When it is empty, the first non-empty
+ * bucket is scanned for its smallest key, which becomes the last removed
+ * key, and its items are moved to lower buckets. Since an item only ever
+ * moves down, and there are BUCKETS buckets, each item is moved O(log C)
+ * times in total, where C is the largest difference between a key and the
+ * last removed key.
+ *
+ * Every bucket is a pair of a long[] of keys and an Object[] of data, so
+ * keys are never boxed.
+ *
+ * @author Akshat Karwa
+ */
+public class RadixHeap<T> {
+
+    /**
+     * The number of buckets of the heap, one for keys equal to the last
+     * removed key and one per bit of a long.
+     */
+    public static final int BUCKETS = Long.SIZE + 1;
+
+    /**
+     * The initial capacity of a bucket.
+     */
+    public static final int INITIAL_CAPACITY = 4;
+
+    private final long[][] keys;
+    private final Object[][] data;
+    private final int[] sizes;
+    private int size;
+    private long last;
+    private int minBucket;
+    private int minPosition;
+
+    /**
+     * Constructs a new RadixHeap. Until the first item is removed, any key
+     * may be added.
+     */
+    public RadixHeap() {
+        this.keys = new long[BUCKETS][];
+        this.data = new Object[BUCKETS][];
+        this.sizes = new int[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            this.keys[bucket] = new long[INITIAL_CAPACITY];
+            this.data[bucket] = new Object[INITIAL_CAPACITY];
+        }
+        this.size = 0;
+        this.last = Long.MIN_VALUE;
+        this.minBucket = -1;
+    }
+
+    /**
+     * Private helper method that returns the bucket of a key, relative to
+     * the last removed key.
+     *
+     * @param key is a key that is not less than the last removed key
+     * @return the bucket of the key
+     */
+    private int bucket(long key) {
+        return (key == this.last) ? 0 : Long.SIZE - Long.numberOfLeadingZeros(key ^ this.last);
+    }
+
+    /**
+     * Adds an item to the heap.
+     * O(1), amortized over the growth of the buckets.
+     *
+     * @param key  the key of the data
+     * @param data the data to add
+     * @throws java.lang.IllegalArgumentException if data is null, or if key
+     *                                            is less than the key of the
+     *                                            last removed item
+     */
+    public void add(long key, T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data to add cannot be null!!");
+        }
+        if (key < this.last) {
+            throw new IllegalArgumentException("The key cannot be less than the key of the "
+                    + "last removed item!!");
+        }
+        int bucket = bucket(key);
+        int position = append(bucket, key, data);
+        this.size++;
+        if (this.minBucket >= 0 && (bucket < this.minBucket || (bucket == this.minBucket
+                && key < this.keys[bucket][this.minPosition]))) {
+            this.minBucket = bucket;
+            this.minPosition = position;
+        }
+    }
+
+    /**
+     * Private helper method that appends an item to a bucket, doubling the
+     * capacity of the bucket if it is full.
+     *
+     * @param bucket is the bucket to append to
+     * @param key    is the key of the item
+     * @param data   is the data of the item
+     * @return the position of the item in the bucket
+     */
+    private int append(int bucket, long key, Object data) {
+        int position = this.sizes[bucket];
+        if (position == this.keys[bucket].length) {
+            long[] newKeys = new long[2 * position];
+            Object[] newData = new Object[2 * position];
+            System.arraycopy(this.keys[bucket], 0, newKeys, 0, position);
+            System.arraycopy(this.data[bucket], 0, newData, 0, position);
+            this.keys[bucket] = newKeys;
+            this.data[bucket] = newData;
+        }
+        this.keys[bucket][position] = key;
+        this.data[bucket][position] = data;
+        this.sizes[bucket] = position + 1;
+        return position;
+    }
+
+    /**
+     * Removes and returns an item of the heap with the smallest key, which
+     * becomes the last removed key. As usual for array-backed structures,
+     * we null out spots as we remove. We do not decrease the capacity of
+     * the buckets.
+     * O(log C) amortized.
+     *
+     * @return the data that was removed
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    public T remove() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The heap is empty. There is no element to remove!!");
+        }
+        if (this.sizes[0] == 0) {
+            redistribute();
+        }
+        int position = --this.sizes[0];
+        T removed = (T) this.data[0][position];
+        this.data[0][position] = null;
+        this.size--;
+        this.minBucket = -1;
+        return removed;
+    }
+
+    /**
+     * Private helper method that empties the first non-empty bucket when
+     * bucket 0 is empty. Its smallest key becomes the last removed key, and
+     * every item of the bucket is moved to its bucket relative to that key,
+     * which is always a lower one.
+     */
+    private void redistribute() {
+        findMin();
+        int source = this.minBucket;
+        long[] sourceKeys = this.keys[source];
+        Object[] sourceData = this.data[source];
+        int count = this.sizes[source];
+        this.last = sourceKeys[this.minPosition];
+        this.sizes[source] = 0;
+        for (int position = 0; position < count; position++) {
+            append(bucket(sourceKeys[position]), sourceKeys[position], sourceData[position]);
+            sourceData[position] = null;
+        }
+    }
+
+    /**
+     * Private helper method that finds the bucket and position of an item
+     * with the smallest key, unless it is already known. It is the last item
+     * of bucket 0 if that bucket is not empty, and otherwise the smallest
+     * key of the first non-empty bucket.
+     */
+    private void findMin() {
+        if (this.minBucket >= 0) {
+            return;
+        }
+        int bucket = 0;
+        while (this.sizes[bucket] == 0) {
+            bucket++;
+        }
+        int min = this.sizes[bucket] - 1;
+        if (bucket > 0) {
+            long[] bucketKeys = this.keys[bucket];
+            for (int position = min - 1; position >= 0; position--) {
+                if (bucketKeys[position] < bucketKeys[min]) {
+                    min = position;
+                }
+            }
+        }
+        this.minBucket = bucket;
+        this.minPosition = min;
+    }
+
+    /**
+     * Returns an item of the heap with the smallest key. This does not
+     * change the last removed key, so keys between it and the smallest key
+     * may still be added.
+     *
+     * @return the minimum element
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    public T getMin() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The heap is empty. There is no element to get!!");
+        }
+        findMin();
+        return (T) this.data[this.minBucket][this.minPosition];
+    }
+
+    /**
+     * Returns the smallest key of the heap.
+     *
+     * @return the minimum key
+     * @throws java.util.NoSuchElementException if the heap is empty
+     */
+    public long getMinKey() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The heap is empty. There is no element to get!!");
+        }
+        findMin();
+        return this.keys[this.minBucket][this.minPosition];
+    }
+
+    /**
+     * Returns the key of the last removed item, below which no key can be
+     * added. Until the first item is removed, this is Long.MIN_VALUE.
+     *
+     * @return the last removed key
+     */
+    public long getLastRemovedKey() {
+        return last;
+    }
+
+    /**
+     * Returns whether or not the heap is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return (this.size == 0);
+    }
+
+    /**
+     * Clears the heap.
+     * Resets every bucket to a new array of the initial capacity, resets the
+     * size, and lifts the lower bound on keys.
+     */
+    public void clear() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            this.keys[bucket] = new long[INITIAL_CAPACITY];
+            this.data[bucket] = new Object[INITIAL_CAPACITY];
+            this.sizes[bucket] = 0;
+        }
+        this.size = 0;
+        this.last = Long.MIN_VALUE;
+        this.minBucket = -1;
+    }
+
+    /**
+     * Returns the size of the heap.
+     *
+     * @return the size of the heap
+     */
+    public int size() {
+        return size;
+    }
+}
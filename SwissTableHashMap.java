@@ -0,0 +1,461 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * My implementation of an open-addressing HashMap that probes with control
+ * bytes, in the style of the Swiss table.
+ *
+ * Every slot has a control byte, kept apart from the keys and values: EMPTY,
+ * DELETED, or the low 7 bits of the spread hashcode of the key (its tag) if
+ * the slot is full. The control bytes of GROUP_WIDTH consecutive slots are
+ * packed into one long, so a single load and a few arithmetic operations
+ * (SWAR, SIMD within a register) find every slot of a group whose tag
+ * matches. Keys are only compared with equals for those slots, which are
+ * almost always true matches.
+ *
+ * Groups are probed linearly. A probe stops at the first group that has an
+ * EMPTY slot, so a removed slot only becomes DELETED when its group has no
+ * EMPTY slot left.
+ *
+ * @author AKSHAT KARWA
+ */
+public class SwissTableHashMap<K, V> {
+
+    /**
+     * The initial capacity of the SwissTableHashMap when created with the
+     * default constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The largest power of two that can be used as the capacity.
+     */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The max load factor of the SwissTableHashMap. DELETED slots count
+     * towards the load, since probes have to go past them.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.875;
+
+    /**
+     * The fraction of slots that may be DELETED before a remove compacts the
+     * table in place.
+     */
+    public static final double TOMBSTONE_COMPACTION_RATIO = 0.25;
+
+    /**
+     * The number of slots whose control bytes are matched at once.
+     */
+    public static final int GROUP_WIDTH = Long.BYTES;
+
+    private static final int EMPTY = 0x80;
+    private static final int DELETED = 0xFE;
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+
+    private long[] control;
+    private K[] keys;
+    private V[] values;
+    private int size;
+    private int deleted;
+
+    /**
+     * Constructs a new SwissTableHashMap.
+     * The backing arrays have an initial capacity of INITIAL_CAPACITY.
+     * We use constructor chaining.
+     */
+    public SwissTableHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new SwissTableHashMap.
+     * The backing arrays have an initial capacity of initialCapacity rounded
+     * up to the next power of two, and to at least GROUP_WIDTH.
+     * initialCapacity is a non-negative integer.
+     *
+     * @param initialCapacity the initial capacity of the backing arrays
+     */
+    public SwissTableHashMap(int initialCapacity) {
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * Private Helper Method that replaces the backing arrays with empty
+     * arrays of the given capacity.
+     *
+     * @param capacity is the new capacity, a power of two of at least
+     *                 GROUP_WIDTH
+     */
+    private void allocate(int capacity) {
+        this.control = new long[capacity / GROUP_WIDTH];
+        Arrays.fill(this.control, LSBS * EMPTY);
+        this.keys = (K[]) new Object[capacity];
+        this.values = (V[]) new Object[capacity];
+        this.size = 0;
+        this.deleted = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If the map already has this
+     * key, we replace its value with the new one passed in.
+     *
+     * Before adding a new key, we check if the max load factor would be
+     * violated. If at most half of the allowed load is live entries, the
+     * DELETED slots are reclaimed by compacting the table in place.
+     * Otherwise, we resize the backing arrays to 2 * old capacity.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key or value is null!!"
+                    + " None of them can be null!!");
+        }
+        int hash = spread(key.hashCode());
+        int index = indexOf(key, hash);
+        if (index >= 0) {
+            V old = this.values[index];
+            this.values[index] = value;
+            return old;
+        }
+        if ((this.size + this.deleted + 1) > (MAX_LOAD_FACTOR * this.keys.length)) {
+            if ((this.size + 1) <= (MAX_LOAD_FACTOR * this.keys.length) / 2) {
+                compact();
+            } else {
+                resizeBackingTable(2 * this.keys.length);
+            }
+        }
+        insert(hash, key, value);
+        this.size++;
+        return null;
+    }
+
+    /**
+     * Private Helper Method that stores a key that is not in the map into
+     * the first EMPTY or DELETED slot of its probe sequence.
+     *
+     * @param hash  is the spread hashcode of key
+     * @param key   is the key to store
+     * @param value is the value to store
+     */
+    private void insert(int hash, K key, V value) {
+        int groupMask = this.control.length - 1;
+        int group = (hash >>> 7) & groupMask;
+        long free = this.control[group] & MSBS;
+        while (free == 0) {
+            group = ((group + 1) & groupMask);
+            free = this.control[group] & MSBS;
+        }
+        int offset = Long.numberOfTrailingZeros(free) >>> 3;
+        if (controlByte(group, offset) == DELETED) {
+            this.deleted--;
+        }
+        setControlByte(group, offset, hash & 0x7F);
+        int index = (group * GROUP_WIDTH) + offset;
+        this.keys[index] = key;
+        this.values[index] = value;
+    }
+
+    /**
+     * Removes the mapping for the given key. If this leaves more than
+     * TOMBSTONE_COMPACTION_RATIO of the slots DELETED, the table is
+     * compacted in place.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key cannot be null!!");
+        }
+        int index = indexOf(key, spread(key.hashCode()));
+        if (index < 0) {
+            throw new NoSuchElementException("The key is not in the map!!");
+        }
+        V removed = this.values[index];
+        int group = index / GROUP_WIDTH;
+        if (matchEmpty(this.control[group]) != 0) {
+            setControlByte(group, index % GROUP_WIDTH, EMPTY);
+        } else {
+            setControlByte(group, index % GROUP_WIDTH, DELETED);
+            this.deleted++;
+        }
+        this.keys[index] = null;
+        this.values[index] = null;
+        this.size--;
+        if (this.deleted > (TOMBSTONE_COMPACTION_RATIO * this.keys.length)) {
+            compact();
+        }
+        return removed;
+    }
+
+    /**
+     * Reclaims every DELETED slot without allocating new arrays or changing
+     * the capacity.
+     *
+     * First, every DELETED slot becomes EMPTY and every full slot is marked
+     * DELETED, meaning not yet placed. Then, every such entry is placed into
+     * the first EMPTY or DELETED slot of its probe sequence. If that slot is
+     * in the same probe group as the entry already is, it stays where it is.
+     * If the slot is EMPTY, the entry moves there. If the slot holds another
+     * entry that is not placed yet, the two are swapped and the entry that
+     * was swapped in is placed next.
+     */
+    public void compact() {
+        for (int group = 0; group < this.control.length; group++) {
+            for (int offset = 0; offset < GROUP_WIDTH; offset++) {
+                int controlByte = controlByte(group, offset);
+                if (controlByte == DELETED) {
+                    setControlByte(group, offset, EMPTY);
+                } else if (controlByte != EMPTY) {
+                    setControlByte(group, offset, DELETED);
+                }
+            }
+        }
+        int groupMask = this.control.length - 1;
+        for (int index = 0; index < this.keys.length; index++) {
+            if (controlByte(index / GROUP_WIDTH, index % GROUP_WIDTH) != DELETED) {
+                continue;
+            }
+            int hash = spread(this.keys[index].hashCode());
+            int home = (hash >>> 7) & groupMask;
+            int group = home;
+            long free = this.control[group] & MSBS;
+            while (free == 0) {
+                group = ((group + 1) & groupMask);
+                free = this.control[group] & MSBS;
+            }
+            int target = (group * GROUP_WIDTH) + (Long.numberOfTrailingZeros(free) >>> 3);
+            if (((group - home) & groupMask) == (((index / GROUP_WIDTH) - home) & groupMask)) {
+                setControlByte(index / GROUP_WIDTH, index % GROUP_WIDTH, hash & 0x7F);
+                continue;
+            }
+            boolean targetEmpty = controlByte(group, target % GROUP_WIDTH) == EMPTY;
+            setControlByte(group, target % GROUP_WIDTH, hash & 0x7F);
+            K key = this.keys[target];
+            V value = this.values[target];
+            this.keys[target] = this.keys[index];
+            this.values[target] = this.values[index];
+            this.keys[index] = key;
+            this.values[index] = value;
+            if (targetEmpty) {
+                setControlByte(index / GROUP_WIDTH, index % GROUP_WIDTH, EMPTY);
+            } else {
+                index--;
+            }
+        }
+        this.deleted = 0;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key cannot be null!!");
+        }
+        int index = indexOf(key, spread(key.hashCode()));
+        if (index < 0) {
+            throw new NoSuchElementException("The key is not in the map!!");
+        }
+        return this.values[index];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null!!");
+        }
+        return indexOf(key, spread(key.hashCode())) >= 0;
+    }
+
+    /**
+     * Private Helper Method that finds the slot holding key.
+     *
+     * For every group of the probe sequence, we match the tag of the key
+     * against all of its control bytes at once, and only compare the keys of
+     * the matching slots. The probe ends at the first group with an EMPTY
+     * slot.
+     *
+     * @param key  is the key to search for
+     * @param hash is the spread hashcode of key
+     * @return the index of the slot holding key, or -1 if it is absent
+     */
+    private int indexOf(Object key, int hash) {
+        int groupMask = this.control.length - 1;
+        int group = (hash >>> 7) & groupMask;
+        long tag = LSBS * (hash & 0x7F);
+        for (int probes = 0; probes <= groupMask; probes++) {
+            long word = this.control[group];
+            long matches = matchTag(word, tag);
+            while (matches != 0) {
+                int index = (group * GROUP_WIDTH) + (Long.numberOfTrailingZeros(matches) >>> 3);
+                if (key.equals(this.keys[index])) {
+                    return index;
+                }
+                matches &= matches - 1;
+            }
+            if (matchEmpty(word) != 0) {
+                return -1;
+            }
+            group = ((group + 1) & groupMask);
+        }
+        return -1;
+    }
+
+    /**
+     * Private Helper Method that finds the bytes of word equal to the tag
+     * repeated in every byte of tag. The result has the high bit of every
+     * matching byte set. It can have false positives above a true match,
+     * which are ruled out by comparing the keys.
+     *
+     * @param word is eight control bytes
+     * @param tag  is the tag of a key repeated in every byte
+     * @return a mask with the high bit of every matching byte set
+     */
+    private static long matchTag(long word, long tag) {
+        long x = word ^ tag;
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * Private Helper Method that finds the EMPTY bytes of word. EMPTY is the
+     * only control byte with its high bit set and its second lowest bit
+     * clear.
+     *
+     * @param word is eight control bytes
+     * @return a mask with the high bit of every EMPTY byte set
+     */
+    private static long matchEmpty(long word) {
+        return word & (~word << 6) & MSBS;
+    }
+
+    /**
+     * Private Helper Method that reads a control byte.
+     *
+     * @param group  is the index of the group
+     * @param offset is the index of the slot within the group
+     * @return the control byte
+     */
+    private int controlByte(int group, int offset) {
+        return (int) (this.control[group] >>> (offset * 8)) & 0xFF;
+    }
+
+    /**
+     * Private Helper Method that writes a control byte.
+     *
+     * @param group  is the index of the group
+     * @param offset is the index of the slot within the group
+     * @param value  is the new control byte
+     */
+    private void setControlByte(int group, int offset, int value) {
+        int shift = offset * 8;
+        this.control[group] = (this.control[group] & ~(0xFFL << shift)) | ((long) value << shift);
+    }
+
+    /**
+     * Resizes the backing arrays to length, rounded up to the next power of
+     * two, and to at least GROUP_WIDTH. Every DELETED slot is dropped.
+     *
+     * @param length new length of the backing arrays
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < this.size) {
+            throw new IllegalArgumentException("Length of HashMap cannot be less"
+                    + "than the number of items!!");
+        }
+        K[] oldKeys = this.keys;
+        V[] oldValues = this.values;
+        int oldSize = this.size;
+        allocate(tableSizeFor(length));
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(spread(oldKeys[i].hashCode()), oldKeys[i], oldValues[i]);
+            }
+        }
+        this.size = oldSize;
+    }
+
+    /**
+     * Private Helper Method that mixes the bits of a hashcode using the
+     * murmur3 fmix32 finalizer.
+     *
+     * @param keyHashcode is the raw integer hashcode value of the key.
+     * @return returns the spread hashcode.
+     */
+    private static int spread(int keyHashcode) {
+        int h = keyHashcode;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Private Helper Method that returns the smallest power of two greater
+     * than or equal to capacity, clamped to [GROUP_WIDTH, MAXIMUM_CAPACITY].
+     *
+     * @param capacity is the requested capacity.
+     * @return returns the power of two capacity to use.
+     */
+    private static int tableSizeFor(int capacity) {
+        if (capacity <= GROUP_WIDTH) {
+            return GROUP_WIDTH;
+        }
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Clears the map.
+     * Resets the backing arrays to new arrays of the INITIAL_CAPACITY and
+     * resets the size.
+     */
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the capacity of the map.
+     *
+     * @return the number of slots of the backing arrays
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,340 @@
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * My implementation of a hashed hierarchical timer wheel, with a MinHeap
+ * overflow for far deadlines.
+ *
+ * Time is split into ticks of a fixed duration. The wheel has LEVELS levels
+ * of SLOTS buckets each, and a bucket of level l covers SLOTS^l ticks, so the
+ * wheel spans SLOTS^LEVELS ticks ahead of the current one. A timeout is put
+ * in the lowest level whose span reaches its deadline, in the bucket picked
+ * by the bits of its deadline tick for that level, so scheduling is O(1).
+ * Each bucket is a DoublyLinkedList, and the timeout keeps its node, so
+ * cancelling is O(1) as well.
+ *
+ * Every time the wheel moves to a tick that is a multiple of SLOTS^l, the
+ * matching bucket of level l is emptied and its timeouts are put in lower
+ * levels, and the bucket of level 0 for the tick holds exactly the timeouts
+ * that expire then. Deadlines beyond the span of the wheel wait in a MinHeap
+ * and are moved into the wheel once they come within its span. The heap has
+ * no remove-by-element, so cancelled timeouts stay in it until they reach the
+ * top, and the heap is rebuilt without them once they are the majority.
+ *
+ * Advancing the wheel collects every expired timeout under the lock and then
+ * hands the whole batch to the caller outside of it, so the tasks never run
+ * while the wheel is locked.
+ *
+ * @author AKSHAT KARWA
+ */
+public class TimerWheel {
+
+    /**
+     * The number of levels of the wheel.
+     */
+    public static final int LEVELS = 4;
+
+    /**
+     * The number of buckets of every level of the wheel.
+     */
+    public static final int SLOTS = 64;
+
+    private static final int SLOT_BITS = 6;
+    private static final long WHEEL_SPAN = 1L << (SLOT_BITS * LEVELS);
+    private static final int MIN_COMPACTION = 64;
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final DoublyLinkedList<TimerWheelTimeout>[][] buckets;
+    private final ReentrantLock lock = new ReentrantLock();
+    private MinHeap<TimerWheelTimeout> overflow;
+    private int overflowCancelled;
+    private int wheelSize;
+    private long currentTick;
+    private long sequence;
+
+    /**
+     * Constructs a new TimerWheel with ticks of one millisecond.
+     * We use constructor chaining.
+     */
+    public TimerWheel() {
+        this(1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Constructs a new TimerWheel whose tick zero is now.
+     *
+     * @param tickDuration the duration of a tick
+     * @param unit         the unit of tickDuration
+     * @throws java.lang.IllegalArgumentException if unit is null or
+     *                                            tickDuration is not
+     *                                            positive
+     */
+    public TimerWheel(long tickDuration, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("The unit cannot be null!!");
+        }
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("The tick duration must be positive!!");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.startNanos = System.nanoTime();
+        this.buckets = new DoublyLinkedList[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                this.buckets[level][slot] = new DoublyLinkedList<>();
+            }
+        }
+        this.overflow = new MinHeap<>();
+    }
+
+    /**
+     * Schedules task to be handed out by advance once delay has passed. The
+     * deadline is rounded up to the next tick, so a timeout never expires
+     * early, and a delay that is not positive expires on the next tick.
+     * O(1), or O(log n) for a deadline beyond the span of the wheel.
+     *
+     * @param task  the task to run when the timeout expires
+     * @param delay the delay from now
+     * @param unit  the unit of delay
+     * @return the timeout of the task, which can be used to cancel it
+     * @throws java.lang.IllegalArgumentException if task or unit is null
+     */
+    public TimerWheelTimeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (task == null || unit == null) {
+            throw new IllegalArgumentException("The task and unit cannot be null!!");
+        }
+        long elapsed = System.nanoTime() - this.startNanos;
+        long delayNanos = Math.max(0, unit.toNanos(delay));
+        long deadlineNanos = (elapsed + delayNanos < 0) ? Long.MAX_VALUE : elapsed + delayNanos;
+        long deadlineTick = deadlineNanos / this.tickNanos
+                + ((deadlineNanos % this.tickNanos != 0) ? 1 : 0);
+        this.lock.lock();
+        try {
+            TimerWheelTimeout timeout = new TimerWheelTimeout(this,
+                    task, Math.max(deadlineTick, this.currentTick + 1), this.sequence++);
+            place(timeout, null);
+            return timeout;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Cancels a pending timeout, so that its task never runs.
+     * O(1).
+     *
+     * @param timeout the timeout to cancel
+     * @return true if the timeout was cancelled, false if it had already
+     * expired or been cancelled
+     * @throws java.lang.IllegalArgumentException if timeout is null or was
+     *                                            scheduled on another wheel
+     */
+    public boolean cancel(TimerWheelTimeout timeout) {
+        if (timeout == null) {
+            throw new IllegalArgumentException("The timeout cannot be null!!");
+        }
+        if (timeout.getWheel() != this) {
+            throw new IllegalArgumentException("The timeout was scheduled on another wheel!!");
+        }
+        this.lock.lock();
+        try {
+            if (timeout.getState() != TimerWheelTimeout.PENDING) {
+                return false;
+            }
+            timeout.setState(TimerWheelTimeout.CANCELLED);
+            if (timeout.getBucket() != null) {
+                timeout.getBucket().removeNode(timeout.getNode());
+                timeout.setBucket(null, null);
+                this.wheelSize--;
+            } else {
+                this.overflowCancelled++;
+                if (this.overflowCancelled >= MIN_COMPACTION
+                        && this.overflowCancelled > this.overflow.size() / 2) {
+                    compactOverflow();
+                }
+            }
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Advances the wheel up to the tick of nowNanos, and hands every timeout
+     * that expired on the way to action, in order of expiry tick. The
+     * timeouts are collected under the lock, and action is called after the
+     * lock is released, so it may schedule or cancel other timeouts.
+     *
+     * If the wheel is empty, the ticks up to the next deadline in the
+     * overflow are skipped at once, so a wheel that was not advanced for a
+     * long time catches up quickly.
+     *
+     * @param nowNanos the current time, as given by System.nanoTime
+     * @param action   the action to perform on every expired timeout
+     * @return the number of timeouts that expired
+     * @throws java.lang.IllegalArgumentException if action is null
+     */
+    public int advance(long nowNanos, Consumer<? super TimerWheelTimeout> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("The action cannot be null!!");
+        }
+        ArrayList<TimerWheelTimeout> expired = new ArrayList<>();
+        this.lock.lock();
+        try {
+            long targetTick = (nowNanos - this.startNanos) / this.tickNanos;
+            while (this.currentTick < targetTick) {
+                if (this.wheelSize == 0) {
+                    long skipTo = targetTick;
+                    if (this.overflow.size() > this.overflowCancelled) {
+                        skipTo = Math.min(skipTo,
+                                this.overflow.getMin().getDeadlineTick() - WHEEL_SPAN + 1);
+                    }
+                    this.currentTick = Math.max(this.currentTick, skipTo - 1);
+                }
+                this.currentTick++;
+                tick(this.currentTick, expired);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        for (TimerWheelTimeout timeout : expired) {
+            action.accept(timeout);
+        }
+        return expired.size();
+    }
+
+    /**
+     * Private Helper Method that moves the wheel to tick. Overflow timeouts
+     * that came within the span of the wheel are put in it, the buckets of
+     * the higher levels that start at tick are emptied into the lower
+     * levels, from the top down, and then the bucket of level 0 expires.
+     *
+     * @param tick    is the tick the wheel moves to
+     * @param expired is the list of expired timeouts
+     */
+    private void tick(long tick, ArrayList<TimerWheelTimeout> expired) {
+        while (!this.overflow.isEmpty()
+                && this.overflow.getMin().getDeadlineTick() - tick < WHEEL_SPAN) {
+            TimerWheelTimeout timeout = this.overflow.remove();
+            if (timeout.getState() == TimerWheelTimeout.CANCELLED) {
+                this.overflowCancelled--;
+            } else {
+                place(timeout, expired);
+            }
+        }
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            int shift = SLOT_BITS * level;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                DoublyLinkedList<TimerWheelTimeout> bucket =
+                        this.buckets[level][(int) (tick >>> shift) & (SLOTS - 1)];
+                while (bucket.size() > 0) {
+                    TimerWheelTimeout timeout = bucket.removeFromFront();
+                    timeout.setBucket(null, null);
+                    this.wheelSize--;
+                    place(timeout, expired);
+                }
+            }
+        }
+        DoublyLinkedList<TimerWheelTimeout> bucket = this.buckets[0][(int) tick & (SLOTS - 1)];
+        while (bucket.size() > 0) {
+            TimerWheelTimeout timeout = bucket.removeFromFront();
+            timeout.setBucket(null, null);
+            this.wheelSize--;
+            timeout.setState(TimerWheelTimeout.EXPIRED);
+            expired.add(timeout);
+        }
+    }
+
+    /**
+     * Private Helper Method that puts a pending timeout where it belongs
+     * relative to the current tick: in the expired list if its deadline has
+     * come, in the overflow if it is beyond the span of the wheel, and
+     * otherwise in the bucket of the lowest level whose span reaches it.
+     *
+     * @param timeout is the timeout to place
+     * @param expired is the list of expired timeouts, or null when
+     *                scheduling, since the deadline is then always ahead
+     */
+    private void place(TimerWheelTimeout timeout, ArrayList<TimerWheelTimeout> expired) {
+        long delta = timeout.getDeadlineTick() - this.currentTick;
+        if (delta <= 0) {
+            timeout.setState(TimerWheelTimeout.EXPIRED);
+            expired.add(timeout);
+        } else if (delta >= WHEEL_SPAN) {
+            this.overflow.add(timeout);
+        } else {
+            int level = (63 - Long.numberOfLeadingZeros(delta)) / SLOT_BITS;
+            DoublyLinkedList<TimerWheelTimeout> bucket = this.buckets[level]
+                    [(int) (timeout.getDeadlineTick() >>> (SLOT_BITS * level)) & (SLOTS - 1)];
+            bucket.addToBack(timeout);
+            timeout.setBucket(bucket, bucket.getTail());
+            this.wheelSize++;
+        }
+    }
+
+    /**
+     * Private Helper Method that rebuilds the overflow without its cancelled
+     * timeouts, in O(n).
+     */
+    private void compactOverflow() {
+        Comparable<?>[] backingArray = this.overflow.getBackingArray();
+        ArrayList<TimerWheelTimeout> pending = new ArrayList<>();
+        for (int index = 1; index <= this.overflow.size(); index++) {
+            TimerWheelTimeout timeout = (TimerWheelTimeout) backingArray[index];
+            if (timeout.getState() == TimerWheelTimeout.PENDING) {
+                pending.add(timeout);
+            }
+        }
+        this.overflow = new MinHeap<>(pending);
+        this.overflowCancelled = 0;
+    }
+
+    /**
+     * Returns the duration of a tick in nanoseconds.
+     *
+     * @return the tick duration
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * Returns the last tick the wheel was advanced to.
+     *
+     * @return the current tick
+     */
+    public long getCurrentTick() {
+        this.lock.lock();
+        try {
+            return currentTick;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether or not the wheel has no pending timeouts.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of pending timeouts.
+     *
+     * @return the size of the wheel
+     */
+    public int size() {
+        this.lock.lock();
+        try {
+            return wheelSize + overflow.size() - overflowCancelled;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * My implementation of a tick driver for a TimerWheel.
+ *
+ * The driver is a Runnable that advances the wheel to the current time once
+ * per tick, until it is stopped, and runs the tasks of the expired timeouts,
+ * either inline or on an Executor. It does not create a thread of its own,
+ * so it can be run on whatever thread the caller picks, such as a daemon
+ * platform thread or a virtual thread. It only blocks through the
+ * ReentrantLock of the wheel and LockSupport.parkNanos, and never holds a
+ * monitor, so a virtual thread running it does not pin its carrier while it
+ * waits.
+ *
+ * @author AKSHAT KARWA
+ */
+public class TimerWheelDriver implements Runnable {
+
+    private final TimerWheel wheel;
+    private final Executor executor;
+    private volatile boolean stopped;
+    private volatile Thread runner;
+
+    /**
+     * Constructs a new TimerWheelDriver that runs the expired tasks inline.
+     * We use constructor chaining.
+     *
+     * @param wheel the wheel to drive
+     * @throws java.lang.IllegalArgumentException if wheel is null
+     */
+    public TimerWheelDriver(TimerWheel wheel) {
+        this(wheel, null);
+    }
+
+    /**
+     * Constructs a new TimerWheelDriver.
+     *
+     * @param wheel    the wheel to drive
+     * @param executor the executor to run the expired tasks on, or null to
+     *                 run them inline on the driving thread
+     * @throws java.lang.IllegalArgumentException if wheel is null
+     */
+    public TimerWheelDriver(TimerWheel wheel, Executor executor) {
+        if (wheel == null) {
+            throw new IllegalArgumentException("The wheel cannot be null!!");
+        }
+        this.wheel = wheel;
+        this.executor = executor;
+    }
+
+    /**
+     * Advances the wheel once per tick until the driver is stopped or the
+     * running thread is interrupted. Since the wheel is advanced to the
+     * current time rather than by one tick, a late wake-up is caught up on
+     * the next pass. A task that throws, or that the executor rejects, is
+     * reported to the uncaught exception handler of the running thread, and
+     * the driver carries on.
+     */
+    @Override
+    public void run() {
+        this.runner = Thread.currentThread();
+        try {
+            while (!this.stopped && !Thread.currentThread().isInterrupted()) {
+                this.wheel.advance(System.nanoTime(), this::dispatch);
+                LockSupport.parkNanos(this, this.wheel.getTickNanos());
+            }
+        } finally {
+            this.runner = null;
+        }
+    }
+
+    /**
+     * Private Helper Method that runs the task of an expired timeout, or
+     * hands it to the executor. A task that throws, or an executor that
+     * rejects it, is reported to the uncaught exception handler of the
+     * running thread, so the rest of the batch is still dispatched.
+     *
+     * @param timeout is the expired timeout
+     */
+    private void dispatch(TimerWheelTimeout timeout) {
+        try {
+            if (this.executor != null) {
+                this.executor.execute(timeout.getTask());
+            } else {
+                timeout.getTask().run();
+            }
+        } catch (RuntimeException e) {
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, e);
+        }
+    }
+
+    /**
+     * Stops the driver. A run in progress returns after its current pass,
+     * and later runs return at once.
+     */
+    public void stop() {
+        this.stopped = true;
+        Thread current = this.runner;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    /**
+     * Returns whether or not the driver is running on some thread.
+     *
+     * @return true if running, false otherwise
+     */
+    public boolean isRunning() {
+        return runner != null;
+    }
+
+    /**
+     * Returns the wheel the driver advances.
+     *
+     * @return the wheel
+     */
+    public TimerWheel getWheel() {
+        return wheel;
+    }
+}
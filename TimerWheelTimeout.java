@@ -0,0 +1,163 @@
+/**
+ * Timeout class used for implementing the TimerWheel.
+ *
+ * A timeout is returned by TimerWheel.schedule and is the handle of the
+ * scheduled task: it can be cancelled in O(1) while it is pending. While it
+ * sits in a bucket of the wheel, it keeps a reference to that bucket and to
+ * its node in it, so cancelling unlinks the node without searching. While it
+ * sits in the overflow MinHeap, cancelling only marks it, and the heap drops
+ * it once it reaches the top. Timeouts are ordered by deadline, and then by
+ * the order in which they were scheduled.
+ *
+ * @author AKSHAT KARWA
+ */
+public class TimerWheelTimeout implements Comparable<TimerWheelTimeout> {
+
+    static final int PENDING = 0;
+    static final int CANCELLED = 1;
+    static final int EXPIRED = 2;
+
+    private final TimerWheel wheel;
+    private final Runnable task;
+    private final long deadlineTick;
+    private final long sequence;
+    private volatile int state;
+    private DoublyLinkedList<TimerWheelTimeout> bucket;
+    private DoublyLinkedListNode<TimerWheelTimeout> node;
+
+    /**
+     * Constructs a new pending TimerWheelTimeout.
+     *
+     * @param wheel        the wheel the timeout is scheduled on
+     * @param task         the task to run when the timeout expires
+     * @param deadlineTick the tick at which the timeout expires
+     * @param sequence     the number of timeouts scheduled on the wheel
+     *                     before this one
+     */
+    TimerWheelTimeout(TimerWheel wheel, Runnable task, long deadlineTick, long sequence) {
+        this.wheel = wheel;
+        this.task = task;
+        this.deadlineTick = deadlineTick;
+        this.sequence = sequence;
+        this.state = PENDING;
+    }
+
+    /**
+     * Cancels the timeout, so that its task never runs.
+     *
+     * @return true if the timeout was cancelled, false if it had already
+     * expired or been cancelled
+     */
+    public boolean cancel() {
+        return this.wheel.cancel(this);
+    }
+
+    /**
+     * Returns whether or not the timeout was cancelled.
+     *
+     * @return true if cancelled, false otherwise
+     */
+    public boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    /**
+     * Returns whether or not the timeout has expired. The task of an expired
+     * timeout has been handed to whoever advanced the wheel, but may not have
+     * run yet.
+     *
+     * @return true if expired, false otherwise
+     */
+    public boolean isExpired() {
+        return state == EXPIRED;
+    }
+
+    /**
+     * Gets the task to run when the timeout expires.
+     *
+     * @return the task
+     */
+    public Runnable getTask() {
+        return task;
+    }
+
+    /**
+     * Gets the tick of the wheel at which the timeout expires.
+     *
+     * @return the deadline tick
+     */
+    public long getDeadlineTick() {
+        return deadlineTick;
+    }
+
+    /**
+     * Compares the deadlines of two timeouts, breaking ties by the order in
+     * which they were scheduled.
+     *
+     * @param other the timeout to compare to
+     * @return a negative number, zero or a positive number if this timeout
+     * expires before, together with or after other
+     */
+    @Override
+    public int compareTo(TimerWheelTimeout other) {
+        int byDeadline = Long.compare(this.deadlineTick, other.deadlineTick);
+        return (byDeadline != 0) ? byDeadline : Long.compare(this.sequence, other.sequence);
+    }
+
+    /**
+     * Gets the wheel the timeout is scheduled on.
+     *
+     * @return the wheel
+     */
+    TimerWheel getWheel() {
+        return wheel;
+    }
+
+    /**
+     * Gets the state of the timeout.
+     *
+     * @return PENDING, CANCELLED or EXPIRED
+     */
+    int getState() {
+        return state;
+    }
+
+    /**
+     * Sets the state of the timeout.
+     *
+     * @param state the new state
+     */
+    void setState(int state) {
+        this.state = state;
+    }
+
+    /**
+     * Gets the bucket of the wheel that holds the timeout.
+     *
+     * @return the bucket, or null if the timeout is not in a bucket
+     */
+    DoublyLinkedList<TimerWheelTimeout> getBucket() {
+        return bucket;
+    }
+
+    /**
+     * Gets the node that holds the timeout in its bucket.
+     *
+     * @return the node, or null if the timeout is not in a bucket
+     */
+    DoublyLinkedListNode<TimerWheelTimeout> getNode() {
+        return node;
+    }
+
+    /**
+     * Sets the bucket that holds the timeout and its node in it.
+     *
+     * @param bucket the new bucket, or null
+     * @param node   the new node, or null
+     */
+    void setBucket(DoublyLinkedList<TimerWheelTimeout> bucket,
+                   DoublyLinkedListNode<TimerWheelTimeout> node) {
+        this.bucket = bucket;
+        this.node = node;
+    }
+}
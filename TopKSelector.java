@@ -0,0 +1,169 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * My implementation of a bounded top-K selector built on a MinHeap.
+ *
+ * The selector keeps the k largest items offered so far in a MinHeap, so
+ * the root is the smallest item that made the cut. An offered item that is
+ * not larger than the root can never enter, and is rejected with a single
+ * comparison. A larger one takes the place of the root with replaceMin,
+ * which moves it down in one pass instead of a remove followed by an add.
+ * Memory stays O(k) no matter how many items are offered, and offering
+ * never allocates once the heap is full.
+ *
+ * @author AKSHAT KARWA
+ */
+public class TopKSelector<T extends Comparable<? super T>> {
+
+    private final MinHeap<T> heap;
+    private final int capacity;
+
+    /**
+     * Constructs a new TopKSelector that keeps the k largest items.
+     *
+     * @param k the number of items to keep
+     * @throws java.lang.IllegalArgumentException if k is not positive
+     */
+    public TopKSelector(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive!!");
+        }
+        this.heap = new MinHeap<>();
+        this.capacity = k;
+    }
+
+    /**
+     * Offers an item to the selector.
+     *
+     * @param data the data to offer
+     * @return true if the data is now one of the k largest items, false if
+     * it was rejected
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data to offer cannot be null!!");
+        }
+        if (this.heap.size() < this.capacity) {
+            this.heap.add(data);
+            return true;
+        }
+        if (data.compareTo(this.heap.getMin()) <= 0) {
+            return false;
+        }
+        this.heap.replaceMin(data);
+        return true;
+    }
+
+    /**
+     * Offers every item of data from index from inclusive to index to
+     * exclusive. Once the selector is full, the root is kept in a local
+     * variable, so a rejected item costs one comparison and nothing else.
+     *
+     * @param data the array of data to offer
+     * @param from the index of the first item to offer
+     * @param to   the index past the last item to offer
+     * @return the number of items that were accepted
+     * @throws java.lang.IllegalArgumentException if data is null, the range
+     *                                            is out of bounds, or an item
+     *                                            in the range is null
+     */
+    public int offerAll(T[] data, int from, int to) {
+        if (data == null || from < 0 || to > data.length || from > to) {
+            throw new IllegalArgumentException("The data cannot be null and the range must be"
+                    + " within its bounds!!");
+        }
+        int accepted = 0;
+        int index = from;
+        while (index < to && this.heap.size() < this.capacity) {
+            if (offer(data[index++])) {
+                accepted++;
+            }
+        }
+        if (index == to) {
+            return accepted;
+        }
+        T threshold = this.heap.getMin();
+        for (; index < to; index++) {
+            T item = data[index];
+            if (item == null) {
+                throw new IllegalArgumentException("Data to offer cannot be null!!");
+            }
+            if (item.compareTo(threshold) > 0) {
+                this.heap.replaceMin(item);
+                threshold = this.heap.getMin();
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Offers every item kept by other to this selector, so that partial
+     * results of parallel workers can be combined. other is not modified.
+     *
+     * @param other the selector to merge into this one
+     * @throws java.lang.IllegalArgumentException if other is null or is this
+     *                                            selector
+     */
+    public void merge(TopKSelector<T> other) {
+        if (other == null || other == this) {
+            throw new IllegalArgumentException("The other selector cannot be null or this one!!");
+        }
+        T[] items = other.heap.getBackingArray();
+        offerAll(items, 1, other.heap.size() + 1);
+    }
+
+    /**
+     * Returns the smallest item kept, which an item must beat to enter once
+     * the selector is full.
+     *
+     * @return the smallest item kept, or null if the selector is empty
+     */
+    public T getThreshold() {
+        return this.heap.isEmpty() ? null : this.heap.getMin();
+    }
+
+    /**
+     * Returns the items kept, from largest to smallest. The selector is not
+     * modified.
+     *
+     * @return the list of the items kept
+     */
+    public List<T> toSortedList() {
+        T[] items = this.heap.getBackingArray();
+        List<T> list = new ArrayList<>(this.heap.size());
+        for (int index = 1; index <= this.heap.size(); index++) {
+            list.add(items[index]);
+        }
+        list.sort(Collections.reverseOrder());
+        return list;
+    }
+
+    /**
+     * Clears the selector.
+     */
+    public void clear() {
+        this.heap.clear();
+    }
+
+    /**
+     * Returns the number of items the selector keeps at most.
+     *
+     * @return k
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of items kept.
+     *
+     * @return the size of the selector
+     */
+    public int size() {
+        return heap.size();
+    }
+}